@@ -1,15 +1,26 @@
 package com.ecommerce.project.config;
 
+import com.ecommerce.project.util.PayloadMappers;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
+    @Value("${project.mapper.precompiled:true}")
+    private boolean precompiledMappers;
+
     @Bean
     public ModelMapper modelMapper() {
-        return new ModelMapper();
+        ModelMapper modelMapper = new ModelMapper();
+        if (precompiledMappers) {
+            PayloadMappers.register(modelMapper);
+        }
+        return modelMapper;
     }
 
 }
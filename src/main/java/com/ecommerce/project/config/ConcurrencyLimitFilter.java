@@ -0,0 +1,90 @@
+package com.ecommerce.project.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests processed at once when requests run on virtual threads.
+ * Without the platform thread pool as a natural limit, every in-flight request would
+ * queue on the connection pool instead; requests waiting longer than the acquire
+ * timeout are rejected with 503.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitFilter(DataSource dataSource,
+                                  @Value("${project.web.concurrencyLimit.maxConcurrentRequests:0}") int maxConcurrentRequests,
+                                  @Value("${project.web.concurrencyLimit.requestsPerConnection:2}") int requestsPerConnection,
+                                  @Value("${project.web.concurrencyLimit.acquireTimeoutMs:5000}") long acquireTimeoutMs) {
+        int limit = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : connectionPoolSize(dataSource) * requestsPerConnection;
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        logger.info("Limiting concurrent requests to {}", limit);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, please retry");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private static int connectionPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not determine connection pool size: {}", e.getMessage());
+        }
+        return 10;
+    }
+
+}
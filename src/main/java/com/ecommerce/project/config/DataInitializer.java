@@ -3,28 +3,46 @@ package com.ecommerce.project.config;
 import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.Role;
 import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.ProductNameView;
+import com.ecommerce.project.repositories.ProductRepository;
 import com.ecommerce.project.repositories.RoleRepository;
 import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
+import com.ecommerce.project.util.ProductNames;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private RoleRepository roleRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsServiceImplementation userDetailsService;
+
     @Value("${default.user.password}")
     private String userPassword;
 
@@ -32,7 +50,10 @@ public class DataInitializer implements CommandLineRunner {
     private String adminPassword;
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
+        backfillNormalizedNames();
+
         // Retrieve or create roles
         Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
                 .orElseGet(() -> {
@@ -62,13 +83,47 @@ public class DataInitializer implements CommandLineRunner {
 
         // Update roles for existing users
         userRepository.findByUserName("user1").ifPresent(user -> {
-            user.setRoles(userRoles);
+            user.setRoles(new HashSet<>(userRoles));
             userRepository.save(user);
+            userDetailsService.evict(user.getUserName());
         });
 
         userRepository.findByUserName("admin1").ifPresent(admin -> {
-            admin.setRoles(adminRoles);
+            admin.setRoles(new HashSet<>(adminRoles));
             userRepository.save(admin);
+            userDetailsService.evict(admin.getUserName());
         });
     }
+
+    /**
+     * Fills in the normalized name of products created before it was stored. Those catalogs
+     * were never checked for names differing only in case or surrounding whitespace, so a
+     * product whose key is already taken in its category gets the key suffixed with its ID
+     * instead, keeping the unique constraint satisfied. The clash is logged to be resolved
+     * by renaming or merging the products.
+     */
+    @Transactional
+    public int backfillNormalizedNames() {
+        Map<Long, Set<String>> namesByCategory = new HashMap<>();
+        int backfilled = 0;
+        for (ProductNameView product : productRepository.findWithoutNormalizedName()) {
+            String normalizedName = ProductNames.normalize(product.getProductName());
+            Long categoryId = product.getCategoryId();
+            if (categoryId != null) {
+                Set<String> names = namesByCategory.computeIfAbsent(categoryId,
+                        id -> new HashSet<>(productRepository.findNormalizedNamesByCategoryId(id)));
+                if (!names.add(normalizedName)) {
+                    String uniqueName = ProductNames.clashKey(normalizedName, product.getProductId());
+                    logger.warn("Product {} '{}' has the same name as another product of category {}; storing its normalized name as '{}'",
+                            product.getProductId(), product.getProductName(), categoryId, uniqueName);
+                    normalizedName = uniqueName;
+                    names.add(normalizedName);
+                }
+            }
+            productRepository.updateNormalizedName(product.getProductId(), normalizedName);
+            backfilled++;
+        }
+        return backfilled;
+    }
+
 }
@@ -0,0 +1,50 @@
+package com.ecommerce.project.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Logs a warning for every request that issues more SQL statements than the configured
+ * budget, the usual sign of an N+1 query pattern. Meant for the dev profile.
+ */
+@Component
+@ConditionalOnExpression("${project.sql.statementCounting.enabled:false} and ${project.sql.statementBudget:0} > 0")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    @Value("${project.sql.statementBudget}")
+    private int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryCountHolder.clear();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCount count = QueryCountHolder.get(StatementCountingConfig.DATA_SOURCE_NAME);
+            if (count != null && count.getTotal() > statementBudget) {
+                logger.warn("{} {} issued {} SQL statements, budget is {} (select {}, insert {}, update {}, delete {}, other {})",
+                        request.getMethod(), request.getRequestURI(), count.getTotal(), statementBudget,
+                        count.getSelect(), count.getInsert(), count.getUpdate(), count.getDelete(), count.getOther());
+            }
+            QueryCountHolder.clear();
+        }
+    }
+
+}
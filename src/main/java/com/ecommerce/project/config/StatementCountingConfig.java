@@ -0,0 +1,39 @@
+package com.ecommerce.project.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource so every SQL statement is counted per thread (datasource-proxy's
+ * QueryCountHolder). Used by the statement budget warning and by tests that pin the number
+ * of statements a service call issues. Off unless project.sql.statementCounting.enabled is set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project.sql.statementCounting.enabled", havingValue = "true")
+public class StatementCountingConfig {
+
+    public static final String DATA_SOURCE_NAME = "counted";
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(DATA_SOURCE_NAME)
+                            .countQuery()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+}
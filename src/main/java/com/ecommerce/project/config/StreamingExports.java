@@ -0,0 +1,195 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs file exports as async requests. An export keeps a database connection and a read-only
+ * transaction open for as long as the client keeps reading, so each audience gets its own few
+ * slots, a client may only run a limited number of exports at once, and an export that writes
+ * nothing for the idle timeout is aborted. Requests over a limit are turned away with 503. The
+ * long total timeout is set on the exports alone, leaving other async requests with the default.
+ */
+@Component
+public class StreamingExports {
+
+    public enum Audience {
+        PUBLIC, ADMIN
+    }
+
+    private final Map<Audience, Semaphore> permits = new EnumMap<>(Audience.class);
+    private final Map<String, Integer> exportsByClient = new ConcurrentHashMap<>();
+    private final Set<RunningExport> running = ConcurrentHashMap.newKeySet();
+    private final int maxExportsPerClient;
+    private final long timeoutMs;
+    private final long idleTimeoutNanos;
+
+    public StreamingExports(@Value("${project.export.public.maxConcurrentExports:2}") int maxPublicExports,
+                            @Value("${project.export.admin.maxConcurrentExports:2}") int maxAdminExports,
+                            @Value("${project.export.maxExportsPerClient:1}") int maxExportsPerClient,
+                            @Value("${project.export.timeoutMinutes:30}") long timeoutMinutes,
+                            @Value("${project.export.idleTimeoutSeconds:30}") long idleTimeoutSeconds) {
+        permits.put(Audience.PUBLIC, new Semaphore(maxPublicExports));
+        permits.put(Audience.ADMIN, new Semaphore(maxAdminExports));
+        this.maxExportsPerClient = maxExportsPerClient;
+        this.timeoutMs = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.idleTimeoutNanos = Duration.ofSeconds(idleTimeoutSeconds).toNanos();
+    }
+
+    public WebAsyncTask<Void> stream(Audience audience, HttpServletRequest request, HttpServletResponse response,
+                                     MediaType mediaType, String fileName, StreamingResponseBody body) {
+        String client = clientOf(request);
+        if (!acquireClientSlot(client)) {
+            throw new ServiceUnavailableException("An export of yours is still in progress, please retry later");
+        }
+        Semaphore audiencePermits = permits.get(audience);
+        if (!audiencePermits.tryAcquire()) {
+            releaseClientSlot(client);
+            throw new ServiceUnavailableException("Too many exports in progress, please retry later");
+        }
+
+        response.setContentType(mediaType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName)
+                .build()
+                .toString());
+        RunningExport export = new RunningExport();
+        running.add(export);
+        WebAsyncTask<Void> task = new WebAsyncTask<>(timeoutMs, () -> {
+            export.start();
+            try {
+                body.writeTo(new ProgressOutputStream(response.getOutputStream(), export));
+                response.flushBuffer();
+            } finally {
+                export.finish();
+            }
+            return null;
+        });
+        // Runs once the async request ends, whether it completed, failed or timed out
+        task.onCompletion(() -> {
+            running.remove(export);
+            audiencePermits.release();
+            releaseClientSlot(client);
+        });
+        return task;
+    }
+
+    @Scheduled(fixedDelayString = "${project.export.idleCheckMs:1000}")
+    public void abortIdleExports() {
+        long idleSince = System.nanoTime() - idleTimeoutNanos;
+        running.forEach(export -> export.abortIfIdleSince(idleSince));
+    }
+
+    public int availablePermits(Audience audience) {
+        return permits.get(audience).availablePermits();
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        return request.getUserPrincipal() != null
+                ? "user:" + request.getUserPrincipal().getName()
+                : "address:" + request.getRemoteAddr();
+    }
+
+    private boolean acquireClientSlot(String client) {
+        boolean[] acquired = new boolean[1];
+        exportsByClient.compute(client, (key, count) -> {
+            int current = count == null ? 0 : count;
+            acquired[0] = current < maxExportsPerClient;
+            return acquired[0] ? current + 1 : count;
+        });
+        return acquired[0];
+    }
+
+    private void releaseClientSlot(String client) {
+        exportsByClient.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Progress of one export. A stalled export is interrupted, which ends a body waiting on the
+     * database; a write blocked on a client that stopped reading fails on the connector's own
+     * write timeout, and any later write fails here.
+     */
+    private static final class RunningExport {
+
+        private volatile long lastProgress = System.nanoTime();
+        private volatile boolean aborted;
+        private Thread writer;
+
+        synchronized void start() throws IOException {
+            checkNotAborted();
+            writer = Thread.currentThread();
+        }
+
+        synchronized void finish() {
+            writer = null;
+            // Do not hand an interrupt meant for this export on to the next task of the thread
+            Thread.interrupted();
+        }
+
+        synchronized void abortIfIdleSince(long idleSince) {
+            if (!aborted && lastProgress - idleSince < 0) {
+                aborted = true;
+                if (writer != null) {
+                    writer.interrupt();
+                }
+            }
+        }
+
+        void checkNotAborted() throws IOException {
+            if (aborted) {
+                throw new InterruptedIOException("Export aborted after writing nothing for too long");
+            }
+        }
+
+        void progressed() {
+            lastProgress = System.nanoTime();
+        }
+
+    }
+
+    private static final class ProgressOutputStream extends FilterOutputStream {
+
+        private final RunningExport export;
+
+        ProgressOutputStream(OutputStream out, RunningExport export) {
+            super(out);
+            this.export = export;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            export.checkNotAborted();
+            out.write(b);
+            export.progressed();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            export.checkNotAborted();
+            out.write(b, off, len);
+            export.progressed();
+        }
+
+    }
+
+}
@@ -11,6 +11,7 @@ import com.ecommerce.project.security.request.SignupRequest;
 import com.ecommerce.project.security.response.MessageResponse;
 import com.ecommerce.project.security.response.UserInfoResponse;
 import com.ecommerce.project.security.services.UserDetailsImplementation;
+import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -54,6 +55,9 @@ public class AuthenticationController {
     @Autowired
     PasswordEncoder encoder;
 
+    @Autowired
+    UserDetailsServiceImplementation userDetailsService;
+
     @Operation(summary = "User Login", description = "Authenticates user credentials and returns user information along with an authentication cookie on success.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User successfully logged in"),
@@ -117,6 +121,7 @@ public class AuthenticationController {
 
         user.setRoles(roles);
         userRepository.save(user);
+        userDetailsService.evict(user.getUserName());
 
         return ResponseEntity.ok().body(new MessageResponse("User created successfully"));
     }
@@ -0,0 +1,43 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.CacheStatsDTO;
+import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
+import com.ecommerce.project.service.ProductCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Cache", description = "APIs for inspecting in-process caches")
+public class CacheController {
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private UserDetailsServiceImplementation userDetailsService;
+
+    @Operation(summary = "Get cache statistics (Admin)", description = "Returns size, hit, miss and eviction counters of the product and user details caches. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not authenticated or not an admin")
+    })
+    @GetMapping("/admin/caches")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> cacheStats = new ArrayList<>(productCache.stats());
+        cacheStats.add(userDetailsService.stats());
+        return new ResponseEntity<>(cacheStats, HttpStatus.OK);
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.StreamingExports;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
 import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.service.CartExportService;
 import com.ecommerce.project.service.CartService;
 import com.ecommerce.project.util.AuthUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,12 +14,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/api")
@@ -25,6 +29,12 @@ public class CartController {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private CartExportService cartExportService;
+
+    @Autowired
+    private StreamingExports streamingExports;
+
     @Autowired
     private AuthUtil authUtil;
 
@@ -45,15 +55,31 @@ public class CartController {
         return new ResponseEntity<>(cartDTO, HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all carts (Admin)", description = "Retrieves a list of all carts in the system. Requires ADMIN role.")
+    @Operation(summary = "Get all carts (Admin)", description = "Retrieves the carts in the system, ordered by ID, one page at a time. " +
+            "Pass the nextCursor of a page as 'after' to fetch the next one. Requires ADMIN role.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of all carts"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of carts"),
+            @ApiResponse(responseCode = "400", description = "No carts exist, or invalid cursor or page size"),
             @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not authenticated or not an admin")
     })
     @GetMapping("/admin/carts")
-    public ResponseEntity<List<CartDTO>> getCarts() {
-        List<CartDTO> cartDTOS = cartService.getAllCarts();
-        return new ResponseEntity<>(cartDTOS, HttpStatus.FOUND);
+    public ResponseEntity<CartResponse> getCarts(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, omit for the first page") @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+        CartResponse cartResponse = cartService.getAllCarts(after, pageSize);
+        return new ResponseEntity<>(cartResponse, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export all carts (Admin)", description = "Streams every cart, ordered by ID, as newline-delimited JSON in a single response. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Carts streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not authenticated or not an admin"),
+            @ApiResponse(responseCode = "503", description = "Too many exports in progress, or one of the caller's still running")
+    })
+    @GetMapping("/admin/carts/export")
+    public WebAsyncTask<Void> exportCarts(HttpServletRequest request, HttpServletResponse response) {
+        return streamingExports.stream(StreamingExports.Audience.ADMIN, request, response,
+                MediaType.APPLICATION_NDJSON, "carts.ndjson", cartExportService.exportCarts());
     }
 
     @Operation(summary = "Get the current user's cart", description = "Retrieves the shopping cart for the authenticated user. Requires user authentication.")
@@ -41,6 +41,25 @@ public class CategoryController {
         return new ResponseEntity<>(categoryResponse, HttpStatus.OK);
     }
 
+    @Operation(summary = "Scroll through categories", description = "Retrieves categories after the given cursor using keyset pagination. Skips the total count.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, cursor issued for a different sort, or a field that cannot be scrolled by")
+    })
+    @GetMapping("/public/categories/scroll")
+    public ResponseEntity<CategoryResponse> scrollCategories(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, omit for the first page")
+            @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Number of categories per page")
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @Parameter(description = "Field to sort by (categoryId or categoryName)")
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_CATEGORIES_BY, required = false) String sortBy,
+            @Parameter(description = "Sort order ('asc' or 'desc')")
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        CategoryResponse categoryResponse = categoryService.scrollCategories(after, pageSize, sortBy, sortOrder);
+        return new ResponseEntity<>(categoryResponse, HttpStatus.OK);
+    }
+
     @Operation(summary = "Create a new category", description = "Creates a new product category. Requires ADMIN role.")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Category created successfully"),
@@ -1,18 +1,25 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.payload.OrderResponse;
+import com.ecommerce.project.service.OrderIdempotencyStore;
 import com.ecommerce.project.service.OrderService;
 import com.ecommerce.project.util.AuthUtil;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Order", description = "APIs for managing user orders")
@@ -21,19 +28,72 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderIdempotencyStore orderIdempotencyStore;
+
     @Autowired
     private AuthUtil authUtil;
 
-    @Operation(summary = "Place a new order", description = "Creates an order from the user's current cart. Requires user authentication.")
+    @Operation(summary = "Place a new order", description = "Creates an order from the user's current cart. Requires user authentication. " +
+            "With an Idempotency-Key header, retries of the same request return the order placed by the first one.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Order placed successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input (e.g., cart is empty, invalid address ID)"),
-            @ApiResponse(responseCode = "401", description = "User is not authenticated")
+            @ApiResponse(responseCode = "201", description = "Order placed successfully, or the order placed earlier with the same Idempotency-Key"),
+            @ApiResponse(responseCode = "400", description = "Invalid input (e.g., cart is empty, invalid address ID, Idempotency-Key reused for another request)"),
+            @ApiResponse(responseCode = "401", description = "User is not authenticated"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still being processed")
     })
     @PostMapping("/users/orders")
-    public ResponseEntity<OrderDTO> orderProducts(@RequestBody OrderRequestDTO orderRequestDTO) {
+    public ResponseEntity<OrderDTO> orderProducts(@RequestBody OrderRequestDTO orderRequestDTO,
+                                                  @Parameter(description = "Client-chosen key identifying this order request across retries")
+                                                  @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        String emailId = authUtil.loggedInEmail();
+        OrderDTO orderDTO = idempotencyKey == null
+                ? placeOrder(emailId, orderRequestDTO)
+                : orderIdempotencyStore.placeOnce(emailId, idempotencyKey, orderRequestDTO, () -> placeOrder(emailId, orderRequestDTO));
+
+        return new ResponseEntity<>(orderDTO, HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Get order history", description = "Retrieves the logged-in user's orders, newest first, one page at a time. " +
+            "Pass the nextCursor of a page as 'after' to fetch the next one. Requires user authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the user's orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or date range"),
+            @ApiResponse(responseCode = "401", description = "User is not authenticated")
+    })
+    @GetMapping("/users/orders")
+    public ResponseEntity<OrderResponse> getUserOrders(
+            @Parameter(description = "Only orders with this status") @RequestParam(name = "status", required = false) String status,
+            @Parameter(description = "Only orders placed on or after this date (yyyy-MM-dd)") @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only orders placed on or before this date (yyyy-MM-dd)") @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, omit for the first page") @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
         String emailId = authUtil.loggedInEmail();
-        OrderDTO orderDTO = orderService.placeOrder(
+        OrderResponse orderResponse = orderService.searchOrders(emailId, status, from, to, after, pageSize);
+        return new ResponseEntity<>(orderResponse, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Search orders", description = "Retrieves orders of all users, newest first, optionally filtered by email, status and date range. " +
+            "Pass the nextCursor of a page as 'after' to fetch the next one. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the matching orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or date range"),
+            @ApiResponse(responseCode = "403", description = "Access denied (requires ADMIN role)")
+    })
+    @GetMapping("/admin/orders")
+    public ResponseEntity<OrderResponse> searchOrders(
+            @Parameter(description = "Only orders placed by this email") @RequestParam(name = "email", required = false) String email,
+            @Parameter(description = "Only orders with this status") @RequestParam(name = "status", required = false) String status,
+            @Parameter(description = "Only orders placed on or after this date (yyyy-MM-dd)") @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only orders placed on or before this date (yyyy-MM-dd)") @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, omit for the first page") @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+        OrderResponse orderResponse = orderService.searchOrders(email, status, from, to, after, pageSize);
+        return new ResponseEntity<>(orderResponse, HttpStatus.OK);
+    }
+
+    private OrderDTO placeOrder(String emailId, OrderRequestDTO orderRequestDTO) {
+        return orderService.placeOrder(
                 emailId,
                 orderRequestDTO.getAddressId(),
                 orderRequestDTO.getPaymentMethod(),
@@ -42,8 +102,6 @@ public class OrderController {
                 orderRequestDTO.getPgResponseMessage(),
                 orderRequestDTO.getPgName()
         );
-
-        return new ResponseEntity<>(orderDTO, HttpStatus.CREATED);
     }
 
 }
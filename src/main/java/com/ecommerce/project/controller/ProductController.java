@@ -1,20 +1,30 @@
 package com.ecommerce.project.controller;
 
 import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.StreamingExports;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFileFormat;
+import com.ecommerce.project.payload.ProductImportReportDTO;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.ProductExportService;
+import com.ecommerce.project.service.ProductImportService;
 import com.ecommerce.project.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -26,6 +36,15 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private StreamingExports streamingExports;
+
     @Operation(summary = "Add a product to a category", description = "Creates a new product within a specific category. Requires ADMIN role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Product added successfully"),
@@ -40,6 +59,21 @@ public class ProductController {
         return new ResponseEntity<>(savedProductDTO, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Import products from a file", description = "Creates products from an uploaded CSV (with a header row) or newline-delimited JSON file. Rows carry productName, description, price and optionally quantity, discount and categoryId. Rows naming a product their category already has are skipped. Products are saved in chunks that commit independently; the report lists the rows that were not imported. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File processed, see the report for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format, or the file lacks required columns"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not an admin")
+    })
+    @PostMapping(value = "/admin/products/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportReportDTO> importProducts(
+            @Parameter(description = "The CSV or NDJSON file to import") @RequestParam("file") MultipartFile file,
+            @Parameter(description = "File format ('csv' or 'ndjson')") @RequestParam(name = "format", defaultValue = "csv", required = false) String format,
+            @Parameter(description = "Category for rows without a categoryId") @RequestParam(name = "categoryId", required = false) Long categoryId) throws IOException {
+        ProductImportReportDTO report = productImportService.importProducts(file.getInputStream(), ProductFileFormat.of(format), categoryId);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     @Operation(summary = "Get all products", description = "Retrieves a paginated list of all products.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products")
     @GetMapping("/public/products")
@@ -52,6 +86,21 @@ public class ProductController {
         return new ResponseEntity<>(productResponse, HttpStatus.OK);
     }
 
+    @Operation(summary = "Scroll through all products", description = "Retrieves products after the given cursor using keyset pagination. Skips the total count, so deep pages cost the same as the first one.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, cursor issued for a different sort, or a field that cannot be scrolled by")
+    })
+    @GetMapping("/public/products/scroll")
+    public ResponseEntity<ProductResponse> scrollProducts(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, omit for the first page") @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @Parameter(description = "Sort by field (productId, productName, price, discount or specialPrice)") @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @Parameter(description = "Sort order ('asc' or 'desc')") @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        ProductResponse productResponse = productService.scrollProducts(after, pageSize, sortBy, sortOrder);
+        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+    }
+
     @Operation(summary = "Get products by category", description = "Retrieves a paginated list of products belonging to a specific category.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products"),
@@ -68,6 +117,51 @@ public class ProductController {
         return new ResponseEntity<>(productResponse, HttpStatus.OK);
     }
 
+    @Operation(summary = "Scroll through products of a category", description = "Retrieves products of a specific category after the given cursor using keyset pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, cursor issued for a different sort, or a field that cannot be scrolled by"),
+            @ApiResponse(responseCode = "404", description = "Category with the given ID not found")
+    })
+    @GetMapping("/public/categories/{categoryId}/products/scroll")
+    public ResponseEntity<ProductResponse> scrollProductsByCategory(
+            @Parameter(description = "ID of the category to retrieve products from") @PathVariable Long categoryId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page, omit for the first page") @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @Parameter(description = "Sort by field (productId, productName, price, discount or specialPrice)") @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @Parameter(description = "Sort order ('asc' or 'desc')") @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+        ProductResponse productResponse = productService.scrollProductsByCategory(categoryId, after, pageSize, sortBy, sortOrder);
+        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Export the product catalog", description = "Streams every product, ordered by ID, as newline-delimited JSON or CSV in a single response. Meant for feed consumers that would otherwise page through the whole catalog.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "503", description = "Too many exports in progress, or one of the caller's still running")
+    })
+    @GetMapping("/public/products/export")
+    public WebAsyncTask<Void> exportProducts(
+            @Parameter(description = "Export format ('ndjson' or 'csv')") @RequestParam(name = "format", defaultValue = "ndjson", required = false) String format,
+            HttpServletRequest request, HttpServletResponse response) {
+        return export(null, ProductFileFormat.of(format), "products", request, response);
+    }
+
+    @Operation(summary = "Export the products of a category", description = "Streams every product of a specific category, ordered by ID, as newline-delimited JSON or CSV in a single response.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "404", description = "Category with the given ID not found"),
+            @ApiResponse(responseCode = "503", description = "Too many exports in progress, or one of the caller's still running")
+    })
+    @GetMapping("/public/categories/{categoryId}/products/export")
+    public WebAsyncTask<Void> exportProductsByCategory(
+            @Parameter(description = "ID of the category to export products from") @PathVariable Long categoryId,
+            @Parameter(description = "Export format ('ndjson' or 'csv')") @RequestParam(name = "format", defaultValue = "ndjson", required = false) String format,
+            HttpServletRequest request, HttpServletResponse response) {
+        return export(categoryId, ProductFileFormat.of(format), "products-category-" + categoryId, request, response);
+    }
+
     @Operation(summary = "Search products by keyword", description = "Retrieves a paginated list of products matching a keyword.")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of products")
     @GetMapping("/public/products/keyword/{keyword}")
@@ -120,4 +214,11 @@ public class ProductController {
         return new ResponseEntity<>(updatedProductDTO, HttpStatus.OK);
     }
 
+    private WebAsyncTask<Void> export(Long categoryId, ProductFileFormat format, String fileName,
+                                      HttpServletRequest request, HttpServletResponse response) {
+        StreamingResponseBody body = productExportService.exportProducts(categoryId, format);
+        return streamingExports.stream(StreamingExports.Audience.PUBLIC, request, response,
+                format.getMediaType(), fileName + "." + format.getExtension(), body);
+    }
+
 }
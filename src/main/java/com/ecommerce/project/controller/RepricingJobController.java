@@ -0,0 +1,60 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.RepricingJobDTO;
+import com.ecommerce.project.service.RepricingJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Repricing jobs", description = "APIs for following the background repricing of carts after product price changes")
+public class RepricingJobController {
+
+    @Autowired
+    private RepricingJobService repricingJobService;
+
+    @Operation(summary = "Get a repricing job (Admin)", description = "Returns the status and progress of a cart repricing job. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the job"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not authenticated or not an admin"),
+            @ApiResponse(responseCode = "404", description = "Repricing job with the given ID not found")
+    })
+    @GetMapping("/admin/repricing-jobs/{jobId}")
+    public ResponseEntity<RepricingJobDTO> getJob(@PathVariable Long jobId) {
+        RepricingJobDTO job = repricingJobService.getJob(jobId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Get repricing jobs of a product (Admin)", description = "Returns the repricing jobs submitted for a product, newest first. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the jobs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not authenticated or not an admin")
+    })
+    @GetMapping("/admin/products/{productId}/repricing-jobs")
+    public ResponseEntity<List<RepricingJobDTO>> getJobsForProduct(@PathVariable Long productId) {
+        List<RepricingJobDTO> jobs = repricingJobService.getJobsForProduct(productId);
+        return new ResponseEntity<>(jobs, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Retry a failed repricing job (Admin)", description = "Queues a failed job again; it continues with the carts that are not repriced yet. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job queued again"),
+            @ApiResponse(responseCode = "400", description = "Job has not failed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access - User is not authenticated or not an admin"),
+            @ApiResponse(responseCode = "404", description = "Repricing job with the given ID not found")
+    })
+    @PostMapping("/admin/repricing-jobs/{jobId}/retry")
+    public ResponseEntity<RepricingJobDTO> retryJob(@PathVariable Long jobId) {
+        RepricingJobDTO job = repricingJobService.retryJob(jobId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.exceptions;
+
+public class ConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflictException() {
+    }
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+}
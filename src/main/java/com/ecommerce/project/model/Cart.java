@@ -16,7 +16,8 @@ import java.util.List;
 public class Cart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carts_seq")
+    @SequenceGenerator(name = "carts_seq", sequenceName = "carts_seq", allocationSize = 50)
     private Long cartId;
 
     @OneToOne
@@ -11,14 +11,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+// Order listings are sorted newest first: the history of a user walks the email index, the
+// admin search by status the status index, and unfiltered or date range searches the date index
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_email_order_date", columnList = "email, orderDate"),
+        @Index(name = "idx_orders_order_status_order_date", columnList = "orderStatus, orderDate"),
+        @Index(name = "idx_orders_order_date", columnList = "orderDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long orderId;
 
     @Email
@@ -0,0 +1,46 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_idempotency_keys",
+        indexes = @Index(columnList = "expiresAt"),
+        uniqueConstraints = @UniqueConstraint(columnNames = {"email", "idempotency_key"}))
+public class OrderIdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Null while the order is being placed
+    private Long orderId;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    public OrderIdempotencyKey(String email, String idempotencyKey, String requestHash, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.email = email;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.project.model;
 
+import com.ecommerce.project.util.ProductNames;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -14,16 +15,26 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "products")
+@Table(name = "products",
+        indexes = @Index(name = "idx_products_category_id_product_id", columnList = "category_id, productId"),
+        uniqueConstraints = @UniqueConstraint(name = Product.NAME_CONSTRAINT, columnNames = {"category_id", "normalized_name"}))
 public class Product {
 
+    public static final String NAME_CONSTRAINT = "uk_products_category_id_normalized_name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long productId;
 
     @NotBlank
     @Size(min = 3, message = "productName must be at least 3 characters long")
     private String productName;
+
+    // Lower-cased, trimmed productName, or its clash key for legacy duplicates; unique per category
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     private String image;
 
     @NotBlank
@@ -42,9 +53,18 @@ public class Product {
     @JoinColumn(name = "user_id")
     private User user;
 
+    // Lazy: loading a product must not load every cart line that holds it
     @OneToMany(mappedBy = "product",
-            cascade = {CascadeType.PERSIST, CascadeType.MERGE},
-            fetch = FetchType.EAGER)
+            cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<CartItem> products = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        // Only a changed name gets a new key, so a legacy clash key survives unrelated edits
+        if (!ProductNames.isKeyOf(normalizedName, productName, productId)) {
+            normalizedName = ProductNames.normalize(productName);
+        }
+    }
+
 }
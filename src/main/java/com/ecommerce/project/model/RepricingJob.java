@@ -0,0 +1,43 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "repricing_jobs", indexes = @Index(columnList = "status"))
+public class RepricingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    private Long productId;
+    private double newPrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RepricingJobStatus status;
+
+    private Integer totalCarts;
+    private Integer repricedCarts = 0;
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public RepricingJob(Long productId, double newPrice) {
+        this.productId = productId;
+        this.newPrice = newPrice;
+        this.status = RepricingJobStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.project.model;
+
+public enum RepricingJobStatus {
+
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    SUPERSEDED
+
+}
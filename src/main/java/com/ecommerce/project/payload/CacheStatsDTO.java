@@ -0,0 +1,40 @@
+package com.ecommerce.project.payload;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Usage counters of an in-process cache")
+public class CacheStatsDTO {
+
+    @Schema(description = "Name of the cache", example = "products")
+    private String cacheName;
+
+    @Schema(description = "Approximate number of entries currently cached", example = "812")
+    private Long size;
+
+    @Schema(description = "Number of lookups served from the cache", example = "10452")
+    private Long hitCount;
+
+    @Schema(description = "Number of lookups that had to load the value", example = "913")
+    private Long missCount;
+
+    @Schema(description = "Ratio of hits to all lookups", example = "0.92")
+    private Double hitRate;
+
+    @Schema(description = "Number of entries evicted because of size or expiry", example = "57")
+    private Long evictionCount;
+
+    public static CacheStatsDTO from(String cacheName, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(cacheName, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+}
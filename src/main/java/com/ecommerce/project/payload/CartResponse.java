@@ -0,0 +1,28 @@
+package com.ecommerce.project.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of carts, ordered by cart ID")
+public class CartResponse {
+
+    @Schema(description = "Carts on the current page")
+    private List<CartDTO> content;
+
+    @Schema(description = "Maximum number of carts per page", example = "50")
+    private Integer pageSize;
+
+    @Schema(description = "Indicates if this is the last page", example = "false")
+    private boolean lastPage;
+
+    @Schema(description = "Opaque cursor for the next page of carts, absent on the last page", example = "eyJzb3J0QnkiOiJjYXJ0SWQifQ")
+    private String nextCursor;
+
+}
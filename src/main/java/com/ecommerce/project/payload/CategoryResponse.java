@@ -31,4 +31,7 @@ public class CategoryResponse {
     @Schema(description = "Indicates if this is the last page", example = "false")
     private boolean lastPage;
 
+    @Schema(description = "Opaque cursor for the next page of categories when scrolling, absent on the last page", example = "eyJzb3J0QnkiOiJwcm9kdWN0SWQifQ")
+    private String nextCursor;
+
 }
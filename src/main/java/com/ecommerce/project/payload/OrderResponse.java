@@ -0,0 +1,28 @@
+package com.ecommerce.project.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of orders, newest first")
+public class OrderResponse {
+
+    @Schema(description = "Orders on the current page")
+    private List<OrderDTO> content;
+
+    @Schema(description = "Maximum number of orders per page", example = "50")
+    private Integer pageSize;
+
+    @Schema(description = "Indicates if this is the last page", example = "false")
+    private boolean lastPage;
+
+    @Schema(description = "Opaque cursor for the next page of orders, absent on the last page", example = "eyJzb3J0QnkiOiJvcmRlckRhdGUifQ")
+    private String nextCursor;
+
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.project.payload;
+
+import com.ecommerce.project.exceptions.APIException;
+import org.springframework.http.MediaType;
+
+public enum ProductFileFormat {
+
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ProductFileFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ProductFileFormat of(String format) {
+        for (ProductFileFormat fileFormat : values()) {
+            if (fileFormat.extension.equalsIgnoreCase(format)) {
+                return fileFormat;
+            }
+        }
+        throw new APIException("Unsupported file format: " + format + ". Use 'ndjson' or 'csv'");
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.project.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A row of an import file that was not imported")
+public class ProductImportErrorDTO {
+
+    @Schema(description = "Position of the record in the file, starting at 1 for the first product", example = "42")
+    private long row;
+
+    @Schema(description = "Product name given in the row", example = "iPhone 15 Pro")
+    private String productName;
+
+    @Schema(description = "Why the row was rejected", example = "Product already exists in category 3")
+    private String message;
+
+}
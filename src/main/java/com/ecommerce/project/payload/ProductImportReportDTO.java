@@ -0,0 +1,34 @@
+package com.ecommerce.project.payload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk product import")
+public class ProductImportReportDTO {
+
+    @Schema(description = "Number of product records read from the file", example = "100000")
+    private long totalRows;
+
+    @Schema(description = "Number of products created", example = "99120")
+    private long imported;
+
+    @Schema(description = "Number of rows skipped because the category already has a product of that name", example = "850")
+    private long duplicates;
+
+    @Schema(description = "Number of rows rejected because they are invalid or could not be saved", example = "30")
+    private long failed;
+
+    @Schema(description = "Rejected and duplicate rows in file order, up to the configured limit")
+    private List<ProductImportErrorDTO> errors;
+
+    @Schema(description = "Whether more rows were rejected than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.project.payload;
+
+import com.ecommerce.project.model.RepricingJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of a background job repricing the carts that contain a product")
+public class RepricingJobDTO {
+
+    @Schema(description = "Unique identifier of the job", example = "12")
+    private Long jobId;
+
+    @Schema(description = "Product whose price changed", example = "101")
+    private Long productId;
+
+    @Schema(description = "Price the cart items are moved to", example = "899.99")
+    private double newPrice;
+
+    @Schema(description = "Current state of the job", example = "RUNNING")
+    private RepricingJobStatus status;
+
+    @Schema(description = "Number of carts that needed repricing when the job started", example = "250000")
+    private Integer totalCarts;
+
+    @Schema(description = "Number of carts repriced so far", example = "120000")
+    private Integer repricedCarts;
+
+    @Schema(description = "Reason of the failure for failed jobs")
+    private String errorMessage;
+
+    @Schema(description = "When the job was submitted")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "When the job last made progress or changed state")
+    private LocalDateTime updatedAt;
+
+}
@@ -1,17 +1,44 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.CartItem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     @Query("SELECT ci FROM CartItem ci WHERE ci.product.id = ?1 AND ci.cart.id = ?2")
     CartItem findCartItemByProductIdAndCartId(Long productId, Long cartId);
 
+    @Query("SELECT c.cartId AS cartId, c.totalPrice AS totalPrice, p.productId AS productId, p.productName AS productName, " +
+            "p.image AS image, p.description AS description, ci.quantity AS quantity, p.price AS price, " +
+            "p.discount AS discount, p.specialPrice AS specialPrice " +
+            "FROM CartItem ci JOIN ci.cart c JOIN ci.product p WHERE c.cartId IN ?1 ORDER BY ci.cartItemId")
+    List<CartItemView> findViewsByCartIdIn(Collection<Long> cartIds);
+
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.product.productId = ?1 AND ci.cart.cartId = ?2")
     void deleteCartItemByProductIdAndCartId(Long productId, Long cartId);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId = ?1")
+    int deleteAllByCartId(Long cartId);
+
+    @Query("SELECT DISTINCT ci.cart.cartId FROM CartItem ci WHERE ci.product.productId = ?1 AND ci.productPrice <> ?2 ORDER BY ci.cart.cartId")
+    List<Long> findCartIdsToReprice(Long productId, double newPrice);
+
+    @Query("SELECT DISTINCT ci.cart.cartId FROM CartItem ci WHERE ci.product.productId = ?1 AND ci.productPrice <> ?2 ORDER BY ci.cart.cartId")
+    List<Long> findCartIdsToReprice(Long productId, double newPrice, Limit limit);
+
+    @Query("SELECT COUNT(DISTINCT ci.cart.cartId) FROM CartItem ci WHERE ci.product.productId = ?1 AND ci.productPrice <> ?2")
+    int countCartsToReprice(Long productId, double newPrice);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CartItem ci SET ci.productPrice = ?2 WHERE ci.product.productId = ?1 AND ci.cart.cartId IN ?3")
+    int repriceItems(Long productId, double newPrice, List<Long> cartIds);
+
 }
@@ -0,0 +1,20 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * A cart item together with its cart's total and the product columns shown for it. Rows of
+ * a cart without items carry only the cart columns.
+ */
+public interface CartItemView {
+
+    Long getCartId();
+    Double getTotalPrice();
+    Long getProductId();
+    String getProductName();
+    String getImage();
+    String getDescription();
+    Integer getQuantity();
+    Double getPrice();
+    Double getDiscount();
+    Double getSpecialPrice();
+
+}
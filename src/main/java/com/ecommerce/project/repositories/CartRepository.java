@@ -1,17 +1,52 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Cart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
 
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1")
     Cart findCartByEmail(String email);
 
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product WHERE c.user.email = ?1")
+    Cart findCartWithItemsByEmail(String email);
+
     @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.productId = ?1")
      List<Cart> findCartsByProductId(Long productId);
 
+    Window<CartView> findProjectedBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Export cursor: one row per cart item, the rows of a cart adjacent, fetched in batches while the stream is consumed
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.cartId AS cartId, c.totalPrice AS totalPrice, p.productId AS productId, p.productName AS productName, " +
+            "p.image AS image, p.description AS description, ci.quantity AS quantity, p.price AS price, " +
+            "p.discount AS discount, p.specialPrice AS specialPrice " +
+            "FROM Cart c LEFT JOIN c.cartItems ci LEFT JOIN ci.product p ORDER BY c.cartId, ci.cartItemId")
+    Stream<CartItemView> streamItemViews();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cart c SET c.totalPrice = c.totalPrice + " +
+            "(SELECT SUM((?2 - ci.productPrice) * ci.quantity) FROM CartItem ci WHERE ci.cart = c AND ci.product.productId = ?1) " +
+            "WHERE c.cartId IN ?3")
+    int repriceTotals(Long productId, double newPrice, List<Long> cartIds);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.totalPrice = 0 WHERE c.cartId = ?1")
+    int resetTotalPrice(Long cartId);
+
 }
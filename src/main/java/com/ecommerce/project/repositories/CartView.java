@@ -0,0 +1,12 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * Closed projection of the cart columns shown in the admin cart listing, without the user
+ * or the items of the cart.
+ */
+public interface CartView {
+
+    Long getCartId();
+    Double getTotalPrice();
+
+}
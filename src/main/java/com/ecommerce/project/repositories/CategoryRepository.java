@@ -1,10 +1,19 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Category findByCategoryName(String categoryName);
+    Window<Category> findBy(ScrollPosition position, Sort sort, Limit limit);
 
 }
@@ -0,0 +1,17 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * Address and payment of an order, loaded for a page of {@link OrderView}s in one query.
+ */
+public interface OrderDetailsView {
+
+    Long getOrderId();
+    Long getAddressId();
+    Long getPaymentId();
+    String getPaymentMethod();
+    String getPgPaymentId();
+    String getPgStatus();
+    String getPgResponseMessage();
+    String getPgName();
+
+}
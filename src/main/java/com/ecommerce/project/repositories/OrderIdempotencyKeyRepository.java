@@ -0,0 +1,31 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+    Optional<OrderIdempotencyKey> findByEmailAndIdempotencyKey(String email, String idempotencyKey);
+
+    @Modifying
+    @Query("UPDATE OrderIdempotencyKey k SET k.orderId = ?2 WHERE k.id = ?1 AND k.orderId IS NULL")
+    int complete(Long id, Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.id = ?1 AND k.orderId IS NULL")
+    int release(Long id);
+
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.id = ?1 AND (k.expiresAt < ?2 OR (k.orderId IS NULL AND k.createdAt < ?3))")
+    int deleteIfStale(Long id, LocalDateTime now, LocalDateTime claimedBefore);
+
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.expiresAt < ?1")
+    int deleteExpired(LocalDateTime now);
+
+}
@@ -2,11 +2,20 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
-
+    @Query("SELECT oi.order.orderId AS orderId, oi.orderItemId AS orderItemId, oi.quantity AS quantity, " +
+            "oi.discount AS discount, oi.orderedProductPrice AS orderedProductPrice, p.productId AS productId, " +
+            "p.productName AS productName, p.image AS image, p.description AS description, p.quantity AS productQuantity, " +
+            "p.price AS price, p.discount AS productDiscount, p.specialPrice AS specialPrice " +
+            "FROM OrderItem oi JOIN oi.product p WHERE oi.order.orderId IN ?1 ORDER BY oi.orderItemId")
+    List<OrderItemView> findViewsByOrderIdIn(Collection<Long> orderIds);
 
 }
@@ -0,0 +1,23 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * An order item together with the product columns shown for it, loaded for a page of
+ * {@link OrderView}s in one query.
+ */
+public interface OrderItemView {
+
+    Long getOrderId();
+    Long getOrderItemId();
+    Integer getQuantity();
+    Double getDiscount();
+    Double getOrderedProductPrice();
+    Long getProductId();
+    String getProductName();
+    String getImage();
+    String getDescription();
+    Integer getProductQuantity();
+    double getPrice();
+    double getProductDiscount();
+    double getSpecialPrice();
+
+}
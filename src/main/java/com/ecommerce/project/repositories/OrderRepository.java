@@ -2,11 +2,20 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import java.util.Collection;
+import java.util.List;
 
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
 
+    @Query("SELECT o.orderId AS orderId, o.address.addressId AS addressId, p.paymentId AS paymentId, " +
+            "p.paymentMethod AS paymentMethod, p.pgPaymentId AS pgPaymentId, p.pgStatus AS pgStatus, " +
+            "p.pgResponseMessage AS pgResponseMessage, p.pgName AS pgName " +
+            "FROM Order o LEFT JOIN o.payment p WHERE o.orderId IN ?1")
+    List<OrderDetailsView> findDetailsByOrderIdIn(Collection<Long> orderIds);
 
 }
@@ -0,0 +1,36 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters of the order search. Absent criteria are left out of the query entirely rather than
+ * matched with "IS NULL OR" conditions, so each combination can use the matching index.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> matching(String email, String status, LocalDate from, LocalDate to) {
+        List<Specification<Order>> filters = new ArrayList<>();
+        if (email != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("email"), email));
+        }
+        if (status != null) {
+            filters.add((root, query, cb) -> cb.equal(root.get("orderStatus"), status));
+        }
+        if (from != null) {
+            filters.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("orderDate"), from));
+        }
+        if (to != null) {
+            filters.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("orderDate"), to));
+        }
+        return Specification.allOf(filters);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.project.repositories;
+
+import java.time.LocalDate;
+
+/**
+ * Closed projection of the order columns shown in order listings, selected without the
+ * address, payment or items of the order.
+ */
+public interface OrderView {
+
+    Long getOrderId();
+    String getEmail();
+    LocalDate getOrderDate();
+    Double getTotalAmount();
+    String getOrderStatus();
+
+}
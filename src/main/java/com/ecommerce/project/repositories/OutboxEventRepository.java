@@ -0,0 +1,16 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEvent> findByOrderByAggregateTypeAscAggregateIdAscEventIdAsc(Limit limit);
+
+}
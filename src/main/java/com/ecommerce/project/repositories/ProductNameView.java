@@ -0,0 +1,12 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * The columns a product's normalized name is derived from.
+ */
+public interface ProductNameView {
+
+    Long getProductId();
+    Long getCategoryId();
+    String getProductName();
+
+}
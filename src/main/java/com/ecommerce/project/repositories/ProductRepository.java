@@ -2,15 +2,58 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+    Page<ProductView> findProjectedBy(Pageable pageDetails);
+    Page<ProductView> findProjectedByCategoryCategoryIdOrderByPriceAsc(Long categoryId, Pageable pageDetails);
+    Window<ProductView> findProjectedBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<ProductView> findProjectedByCategoryCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
+    // Export cursors: rows are fetched from the database in batches while the stream is consumed
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductView> streamProjectedBy(Sort sort);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductView> streamProjectedByCategoryCategoryId(Long categoryId, Sort sort);
+
+    boolean existsByCategoryCategoryIdAndNormalizedName(Long categoryId, String normalizedName);
+    boolean existsByCategoryCategoryIdAndNormalizedNameAndProductIdNot(Long categoryId, String normalizedName, Long productId);
+
+    @Query("SELECT p.normalizedName FROM Product p WHERE p.category.categoryId = ?1")
+    List<String> findNormalizedNamesByCategoryId(Long categoryId);
+
+    @Query("SELECT p.productId AS productId, c.categoryId AS categoryId, p.productName AS productName " +
+            "FROM Product p LEFT JOIN p.category c WHERE p.normalizedName IS NULL ORDER BY p.productId")
+    List<ProductNameView> findWithoutNormalizedName();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.normalizedName = ?2 WHERE p.productId = ?1")
+    int updateNormalizedName(Long productId, String normalizedName);
+
+    @Query("SELECT p.quantity FROM Product p WHERE p.productId = ?1")
+    Integer findQuantityByProductId(Long productId);
+
+    @Query("SELECT p.productId AS productId, p.quantity AS quantity FROM Product p WHERE p.productId IN ?1")
+    List<ProductStock> findStockByProductIdIn(Collection<Long> productIds);
 
 }
@@ -0,0 +1,11 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * Closed projection of the stock level of a product.
+ */
+public interface ProductStock {
+
+    Long getProductId();
+    Integer getQuantity();
+
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.project.repositories;
+
+/**
+ * Closed projection of the product columns shown in catalog listings. Queries returning it
+ * select just these columns, without the category, owner or cart lines of the product.
+ */
+public interface ProductView {
+
+    Long getProductId();
+    String getProductName();
+    String getImage();
+    String getDescription();
+    Integer getQuantity();
+    double getPrice();
+    double getDiscount();
+    double getSpecialPrice();
+
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.RepricingJob;
+import com.ecommerce.project.model.RepricingJobStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RepricingJobRepository extends JpaRepository<RepricingJob, Long> {
+
+    List<RepricingJob> findByStatusOrderByJobIdAsc(RepricingJobStatus status, Limit limit);
+
+    List<RepricingJob> findByProductIdOrderByJobIdDesc(Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM RepricingJob j WHERE j.jobId = ?1")
+    Optional<RepricingJob> findByIdForUpdate(Long jobId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RepricingJob j SET j.status = ?3, j.updatedAt = ?4 WHERE j.jobId = ?1 AND j.status = ?2")
+    int transition(Long jobId, RepricingJobStatus from, RepricingJobStatus to, LocalDateTime at);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RepricingJob j SET j.status = ?2, j.updatedAt = ?4 WHERE j.status = ?1 AND j.updatedAt < ?3")
+    int transitionStale(RepricingJobStatus from, RepricingJobStatus to, LocalDateTime staleBefore, LocalDateTime at);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RepricingJob j SET j.status = com.ecommerce.project.model.RepricingJobStatus.SUPERSEDED, j.updatedAt = ?3 " +
+            "WHERE j.productId = ?1 AND j.status IN ?2")
+    int supersede(Long productId, Collection<RepricingJobStatus> statuses, LocalDateTime at);
+
+}
@@ -65,8 +65,11 @@ public class WebSecurityConfig {
                                         "/v3/api-docs/**",
                                         "/swagger-ui/**",
                                         "/h2-console/**",
-                                        "/images/**").permitAll()
-                                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                                        "/images/**",
+                                        // Only served on the internal management port
+                                        "/actuator/health",
+                                        "/actuator/prometheus").permitAll()
+                                .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/api/users/**").hasAnyRole("USER", "ADMIN")
                                 .anyRequest().authenticated());
         http.authenticationProvider(authenticationProvider());
@@ -1,6 +1,8 @@
 package com.ecommerce.project.security.jwt;
 
 import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +28,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImplementation userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -34,8 +39,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJWTToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJWTToken(jwt);
+            String username = jwt == null ? null : verify(jwt);
+            if (username != null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -49,6 +54,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private String verify(String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String username = jwtUtils.getUsernameFromVerifiedToken(jwt);
+        sample.stop(Timer.builder("jwt.validation")
+                .description("Time spent verifying the JWT of a request")
+                .tag("outcome", username == null ? "rejected" : "accepted")
+                .register(meterRegistry));
+        return username;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String jwtFromCookie = jwtUtils.getJwtFromCookies(request);
         if (jwtFromCookie != null) {
@@ -1,12 +1,16 @@
 package com.ecommerce.project.security.jwt;
 
 import com.ecommerce.project.security.services.UserDetailsImplementation;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -18,11 +22,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
@@ -35,6 +44,44 @@ public class JwtUtils {
     @Value("${spring.ecom.jwtCookieName}")
     private String jwtCookieName;
 
+    @Value("${project.jwt.verifiedTokenCacheSize:10000}")
+    private long verifiedTokenCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens");
+    }
+
     // Getting JWT from Cookies
     public String getJwtFromCookies(HttpServletRequest request) {
         Cookie cookie = WebUtils.getCookie(request, jwtCookieName);
@@ -81,31 +128,40 @@ public class JwtUtils {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date().getTime() + jwtExpirationMs)))
-                .signWith(key())
+                .signWith(signingKey)
                 .compact();
     }
 
     // Getting Username from JWT Token
     public String getUsernameFromJWTToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build().parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload().getSubject();
     }
 
-    // Generate Signing Key
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     // Validate JWT Token
     public boolean validateJWTToken(String authToken) {
+        return getUsernameFromVerifiedToken(authToken) != null;
+    }
+
+    // Validating JWT Token and getting its Username in one pass, remembering tokens that were already verified
+    public String getUsernameFromVerifiedToken(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+
+        String tokenHash = hash(authToken);
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.subject();
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith((SecretKey) key())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(authToken).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant()));
+            }
+            return claims.getSubject();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -114,8 +170,22 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return false;
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) {
     }
 
 }
@@ -1,27 +1,79 @@
 package com.ecommerce.project.security.services;
 
 import com.ecommerce.project.model.User;
+import com.ecommerce.project.payload.CacheStatsDTO;
 import com.ecommerce.project.repositories.UserRepository;
-import jakarta.transaction.Transactional;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
-public class UserDetailsServiceImplementation implements UserDetailsService {
+public class UserDetailsServiceImplementation implements UserDetailsService, MeterBinder {
 
     @Autowired
     UserRepository userRepository;
 
+    private final Cache<String, UserDetailsImplementation> userDetailsCache;
+
+    public UserDetailsServiceImplementation(@Value("${project.cache.userDetailsMaxSize:10000}") long maxSize,
+                                            @Value("${project.cache.userDetailsTtlSeconds:300}") long ttlSeconds) {
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUserName(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User: " + username + " not found"));
+        UserDetailsImplementation userDetails = userDetailsCache.get(username, key -> {
+            User user = userRepository.findByUserName(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User: " + key + " not found"));
+            return UserDetailsImplementation.build(user);
+        });
+
+        return new UserDetailsImplementation(userDetails.getId(), userDetails.getUsername(), userDetails.getEmail(),
+                userDetails.getPassword(), userDetails.getAuthorities());
+    }
 
-        return UserDetailsImplementation.build(user);
+    /**
+     * Drops the cached details of a user. Code that writes a user or its roles calls this, as
+     * the cache is not told about changes otherwise.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        userDetailsCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userDetailsCache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        return CacheStatsDTO.from("userDetails", userDetailsCache);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, userDetailsCache, "userDetails");
     }
 
 }
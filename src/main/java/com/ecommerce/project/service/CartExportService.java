@@ -0,0 +1,9 @@
+package com.ecommerce.project.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface CartExportService {
+
+    StreamingResponseBody exportCarts();
+
+}
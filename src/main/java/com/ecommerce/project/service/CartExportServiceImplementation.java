@@ -0,0 +1,96 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.repositories.CartItemView;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.util.PayloadMappers;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every cart from a single joined query, one row per cart item ordered by cart. A cart
+ * is written out as soon as its last row has been read, so only one cart is held in memory at
+ * a time however many carts there are.
+ */
+@Service
+public class CartExportServiceImplementation implements CartExportService {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ObjectWriter cartWriter;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        cartWriter = objectMapper.writerFor(CartDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public StreamingResponseBody exportCarts() {
+        return outputStream -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<CartItemView> cartItems = cartRepository.streamItemViews()) {
+                        writeNdjson(cartItems.iterator(), outputStream);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void writeNdjson(Iterator<CartItemView> cartItems, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            CartDTO cart = null;
+            while (cartItems.hasNext()) {
+                CartItemView cartItem = cartItems.next();
+                if (cart == null || !cart.getCartId().equals(cartItem.getCartId())) {
+                    write(cart, generator);
+                    cart = new CartDTO();
+                    cart.setCartId(cartItem.getCartId());
+                    cart.setTotalPrice(cartItem.getTotalPrice());
+                }
+                if (cartItem.getProductId() != null) {
+                    cart.getProducts().add(PayloadMappers.toCartProductDTO(cartItem));
+                }
+            }
+            write(cart, generator);
+        }
+    }
+
+    private void write(CartDTO cart, JsonGenerator generator) throws IOException {
+        if (cart != null) {
+            cartWriter.writeValue(generator, cart);
+            generator.writeRaw('\n');
+        }
+    }
+
+}
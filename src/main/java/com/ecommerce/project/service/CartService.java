@@ -1,14 +1,13 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
 import jakarta.transaction.Transactional;
 
-import java.util.List;
-
 public interface CartService {
 
     CartDTO addProductToCart(Long productId, Integer quantity);
-    List<CartDTO> getAllCarts();
+    CartResponse getAllCarts(String after, Integer pageSize);
     CartDTO getCart(String email, Long cartId);
 
     @Transactional
@@ -17,6 +16,13 @@ public interface CartService {
     @Transactional
     String deleteProductFromCart(Long cartId, Long productId);
 
-    void updateProductInCarts(Long cartId, Long productId);
+    @Transactional
+    void clearCart(Long cartId);
+
+    @Transactional
+    int repriceProductInCarts(Long productId, double newPrice);
+
+    @Transactional
+    int repriceNextCarts(Long productId, double newPrice, int maxCarts);
 
 }
@@ -4,24 +4,37 @@ import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
-import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
 import com.ecommerce.project.payload.ProductDTO;
-import com.ecommerce.project.repositories.CartItemRepository;
-import com.ecommerce.project.repositories.CartRepository;
-import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.*;
 import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.KeysetCursor;
+import com.ecommerce.project.util.PayloadMappers;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 public class CartServiceImplementation implements CartService {
 
+    public static final int MAX_CART_PAGE_SIZE = 200;
+
+    private static final String CART_SORT_BY = "cartId";
+    private static final String CART_SORT_DIR = "asc";
+
     @Autowired
     private CartRepository cartRepository;
 
@@ -37,12 +50,17 @@ public class CartServiceImplementation implements CartService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Value("${project.cart.repricingChunkSize:1000}")
+    private int repricingChunkSize;
+
     @Override
     public CartDTO addProductToCart(Long productId, Integer quantity) {
         Cart cart = createCart();
 
-        Product product = productRepository.findById(productId).
-                orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        ProductDTO product = productCache.getProduct(productId);
 
         CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(productId, cart.getCartId());
 
@@ -62,7 +80,7 @@ public class CartServiceImplementation implements CartService {
         }
 
         CartItem newCartItem = new CartItem();
-        newCartItem.setProduct(product);
+        newCartItem.setProduct(productRepository.getReferenceById(productId));
         newCartItem.setCart(cart);
         newCartItem.setQuantity(quantity);
         newCartItem.setDiscount(product.getDiscount());
@@ -70,8 +88,6 @@ public class CartServiceImplementation implements CartService {
 
         cartItemRepository.save(newCartItem);
 
-        product.setQuantity(product.getQuantity());
-
         cart.setTotalPrice(cart.getTotalPrice() + (product.getSpecialPrice() * quantity));
 
         cartRepository.save(cart);
@@ -105,29 +121,39 @@ public class CartServiceImplementation implements CartService {
         return newCart;
     }
 
+    /**
+     * Lists carts by ID with keyset pagination, in two queries per page: the carts, then the
+     * items of just those carts. Only the columns shown are read, no entities are loaded.
+     */
     @Override
-    public List<CartDTO> getAllCarts() {
-        List<Cart> carts = cartRepository.findAll();
+    public CartResponse getAllCarts(String after, Integer pageSize) {
+        if (pageSize == null || pageSize < 1 || pageSize > MAX_CART_PAGE_SIZE) {
+            throw new APIException("pageSize must be between 1 and " + MAX_CART_PAGE_SIZE);
+        }
 
-        if (carts.isEmpty()) {
+        ScrollPosition position = KeysetCursor.decode(after, Cart.class, CART_SORT_BY, CART_SORT_DIR);
+        Window<CartView> cartWindow = cartRepository.findProjectedBy(position, Sort.by(CART_SORT_BY).ascending(), Limit.of(pageSize));
+
+        if (cartWindow.isEmpty()) {
             throw new APIException("No cart exists");
         }
 
-        List<CartDTO> cartDTOS = carts.stream()
-                .map(cart -> {
-                    cart.getCartItems()
-                            .forEach(c -> c.getProduct().setQuantity(c.getQuantity()));
-                    CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-                    List<ProductDTO> productDTOS = cart.getCartItems()
-                            .stream()
-                            .map(item -> modelMapper.map(item.getProduct(), ProductDTO.class))
-                            .toList();
-                    cartDTO.setProducts(productDTOS);
-                    return cartDTO;
-                })
-                .toList();
+        List<Long> cartIds = cartWindow.stream().map(CartView::getCartId).toList();
+        Map<Long, List<ProductDTO>> products = cartItemRepository.findViewsByCartIdIn(cartIds).stream()
+                .collect(Collectors.groupingBy(CartItemView::getCartId,
+                        Collectors.mapping(PayloadMappers::toCartProductDTO, Collectors.toList())));
+
+        List<CartDTO> cartDTOS = new ArrayList<>(cartIds.size());
+        for (CartView cart : cartWindow) {
+            cartDTOS.add(new CartDTO(cart.getCartId(), products.getOrDefault(cart.getCartId(), new ArrayList<>()), cart.getTotalPrice()));
+        }
 
-        return cartDTOS;
+        CartResponse cartResponse = new CartResponse();
+        cartResponse.setContent(cartDTOS);
+        cartResponse.setPageSize(pageSize);
+        cartResponse.setLastPage(cartWindow.isLast());
+        cartResponse.setNextCursor(KeysetCursor.next(cartWindow, CART_SORT_BY, CART_SORT_DIR));
+        return cartResponse;
     }
 
     @Override
@@ -162,8 +188,7 @@ public class CartServiceImplementation implements CartService {
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        ProductDTO product = productCache.getProduct(productId);
 
         if (product.getQuantity() == 0) {
             throw new APIException(product.getProductName() + " is not available");
@@ -235,29 +260,39 @@ public class CartServiceImplementation implements CartService {
         return "Product " + cartItem.getProduct().getProductName() + " removed from the cart";
     }
 
+    /**
+     * Empties the cart with one delete for all its items and one update of its total, however
+     * many items it holds. Clears the persistence context, so entities loaded before are detached.
+     */
     @Override
-    public void updateProductInCarts(Long cartId, Long productId) {
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
-
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(productId, cartId);
+    @Transactional
+    public void clearCart(Long cartId) {
+        cartItemRepository.deleteAllByCartId(cartId);
+        cartRepository.resetTotalPrice(cartId);
+    }
 
-        if (cartItem == null) {
-            throw new APIException("Product " + product.getProductName() + " not available in the cart");
+    @Override
+    @Transactional
+    public int repriceProductInCarts(Long productId, double newPrice) {
+        List<Long> cartIds = cartItemRepository.findCartIdsToReprice(productId, newPrice);
+        for (int from = 0; from < cartIds.size(); from += repricingChunkSize) {
+            List<Long> chunk = cartIds.subList(from, Math.min(from + repricingChunkSize, cartIds.size()));
+            // Totals first: they are adjusted by the difference to the item prices still in place
+            cartRepository.repriceTotals(productId, newPrice, chunk);
+            cartItemRepository.repriceItems(productId, newPrice, chunk);
         }
+        return cartIds.size();
+    }
 
-        double cartPrice = cart.getTotalPrice() -
-                (cartItem.getProductPrice() * cartItem.getQuantity());
-
-        cartItem.setProductPrice(product.getSpecialPrice());
-
-        double newCartPrice = cartPrice + (cartItem.getProductPrice() * cartItem.getQuantity());
-        cart.setTotalPrice(newCartPrice);
-
-        cartItemRepository.save(cartItem);
+    @Override
+    @Transactional
+    public int repriceNextCarts(Long productId, double newPrice, int maxCarts) {
+        List<Long> cartIds = cartItemRepository.findCartIdsToReprice(productId, newPrice, Limit.of(maxCarts));
+        if (!cartIds.isEmpty()) {
+            cartRepository.repriceTotals(productId, newPrice, cartIds);
+            cartItemRepository.repriceItems(productId, newPrice, cartIds);
+        }
+        return cartIds.size();
     }
 
 }
@@ -6,6 +6,7 @@ import com.ecommerce.project.payload.CategoryResponse;
 public interface CategoryService {
 
     CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    CategoryResponse scrollCategories(String after, Integer pageSize, String sortBy, String sortOrder);
     CategoryDTO createCategory(CategoryDTO categoryDTO);
     CategoryDTO deleteCategory(Long categoryId);
 
@@ -3,28 +3,43 @@ package com.ecommerce.project.service;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.util.KeysetCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class CategoryServiceImplementation implements CategoryService {
 
+    // Category columns that are never null, the only ones a scroll cursor can continue from
+    private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("categoryId", "categoryName");
+
     @Autowired
     private CategoryRepository categoryRepository;
 
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Override
     public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
@@ -50,6 +65,29 @@ public class CategoryServiceImplementation implements CategoryService {
         return categoryResponse;
     }
 
+    @Override
+    public CategoryResponse scrollCategories(String after, Integer pageSize, String sortBy, String sortOrder) {
+        KeysetCursor.requireSortable(sortBy, SCROLL_SORT_PROPERTIES);
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        ScrollPosition position = KeysetCursor.decode(after, Category.class, sortBy, sortOrder);
+        Window<Category> categoryWindow = categoryRepository.findBy(position, sortByAndOrder, Limit.of(pageSize));
+
+        if (categoryWindow.isEmpty()) {
+            throw new APIException("There are no categories in the DB");
+        }
+        List<CategoryDTO> categoryDTOS = categoryWindow.stream()
+                .map(category ->
+                    modelMapper.map(category, CategoryDTO.class))
+                .toList();
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setContent(categoryDTOS);
+        categoryResponse.setPageSize(pageSize);
+        categoryResponse.setLastPage(categoryWindow.isLast());
+        categoryResponse.setNextCursor(KeysetCursor.next(categoryWindow, sortBy, sortOrder));
+        return categoryResponse;
+    }
+
     @Override
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         Category category = modelMapper.map(categoryDTO, Category.class);
@@ -58,6 +96,7 @@ public class CategoryServiceImplementation implements CategoryService {
             throw new APIException("Category with the name " + category.getCategoryName() + " already exists!");
         }
         Category savedCategory = categoryRepository.save(category);
+        evictCategoryCaches(savedCategory.getCategoryId());
         return modelMapper.map(savedCategory, CategoryDTO.class);
     }
 
@@ -66,7 +105,14 @@ public class CategoryServiceImplementation implements CategoryService {
         Category categoryInDb = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
+        List<Product> products = categoryInDb.getProducts();
+        if (products != null) {
+            products.forEach(product -> productSearchIndex.remove(product.getProductId()));
+        }
+
         categoryRepository.delete(categoryInDb);
+        evictCategoryCaches(categoryId);
+        productCache.evictAll();
         return modelMapper.map(categoryInDb, CategoryDTO.class);
     }
 
@@ -77,7 +123,18 @@ public class CategoryServiceImplementation implements CategoryService {
         Category category = modelMapper.map(categoryDTO, Category.class);
         categoryInDb.setCategoryName(category.getCategoryName());
         Category savedCategory = categoryRepository.save(categoryInDb);
+        evictCategoryCaches(categoryId);
         return modelMapper.map(savedCategory, CategoryDTO.class);
     }
 
+    /**
+     * Hibernate keeps the second-level cache in step with changes made through the session;
+     * this also covers rows touched by bulk statements, and drops cached name lookups.
+     */
+    private void evictCategoryCaches(Long categoryId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Category.class, categoryId);
+        cache.evictDefaultQueryRegion();
+    }
+
 }
@@ -0,0 +1,61 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as NDJSON lines to a local file and forces them to disk before the batch is
+ * acknowledged, so a published event survives a crash of the application.
+ */
+@Component
+@ConditionalOnProperty(name = "project.outbox.sink", havingValue = "file")
+public class FileOutboxEventSink implements OutboxEventSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${project.outbox.file.path}")
+    private Path path;
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("eventId", event.getEventId());
+            line.put("eventType", event.getEventType());
+            line.put("aggregateType", event.getAggregateType());
+            line.put("aggregateId", event.getAggregateId());
+            line.put("createdAt", event.getCreatedAt().toString());
+            line.set("payload", objectMapper.readTree(event.getPayload()));
+            objectMapper.writeValue(lines, line);
+            lines.write('\n');
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Collects published events in a queue; used by the tests.
+ */
+@Component
+@ConditionalOnProperty(name = "project.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxEventSink implements OutboxEventSink {
+
+    private final BlockingQueue<OutboxEvent> events = new LinkedBlockingQueue<>();
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public List<OutboxEvent> drain() {
+        List<OutboxEvent> drained = new ArrayList<>();
+        events.drainTo(drained);
+        return drained;
+    }
+
+}
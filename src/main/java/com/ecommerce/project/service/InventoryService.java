@@ -0,0 +1,9 @@
+package com.ecommerce.project.service;
+
+import java.util.Map;
+
+public interface InventoryService {
+
+    Map<Long, Integer> reserve(Map<Long, Integer> quantitiesByProductId);
+
+}
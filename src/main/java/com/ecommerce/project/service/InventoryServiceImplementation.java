@@ -0,0 +1,77 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductStock;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Takes stock with conditional decrements, so a product never goes below zero however many
+ * orders race for it. All lines go in one JDBC batch in ascending product id order, so two
+ * orders take their row locks in the same order and cannot deadlock on each other.
+ */
+@Service
+public class InventoryServiceImplementation implements InventoryService {
+
+    private static final String DECREMENT_QUANTITY =
+            "UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantitiesByProductId) {
+        SortedMap<Long, Integer> ordered = new TreeMap<>(quantitiesByProductId);
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(ordered.entrySet());
+        lines.forEach(line -> {
+            if (line.getValue() == null || line.getValue() <= 0) {
+                throw new APIException("The ordered quantity must be positive");
+            }
+        });
+        if (lines.isEmpty()) {
+            return Map.of();
+        }
+
+        // The batch bypasses the persistence context, so pending product changes go first
+        entityManager.flush();
+        int[][] updateCounts = jdbcTemplate.batchUpdate(DECREMENT_QUANTITY, lines, lines.size(), (statement, line) -> {
+            statement.setInt(1, line.getValue());
+            statement.setLong(2, line.getKey());
+            statement.setInt(3, line.getValue());
+        });
+        // Anything but one updated row counts as not reserved, including a driver's
+        // SUCCESS_NO_INFO, which would hide a decrement that matched no row
+        for (int i = 0; i < lines.size(); i++) {
+            if (updateCounts[0][i] != 1) {
+                Long productId = lines.get(i).getKey();
+                Product product = productRepository.findById(productId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+                throw new APIException("Please, make an order of the " +
+                        product.getProductName() +
+                        " less than or equal to the quantity: " +
+                        productRepository.findQuantityByProductId(productId));
+            }
+        }
+
+        Map<Long, Integer> remaining = new LinkedHashMap<>();
+        productRepository.findStockByProductIdIn(ordered.keySet())
+                .forEach(stock -> remaining.put(stock.getProductId(), stock.getQuantity()));
+        return remaining;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes each event to the "outbox" logger, one line per event.
+ */
+@Component
+@ConditionalOnProperty(name = "project.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxEventSink implements OutboxEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger("outbox");
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        events.forEach(event -> logger.info("{} {} {} {} {}",
+                event.getEventId(), event.getEventType(), event.getAggregateType(), event.getAggregateId(), event.getPayload()));
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ConflictException;
+import com.ecommerce.project.model.OrderIdempotencyKey;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.repositories.OrderIdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes order placement idempotent per user and client Idempotency-Key. The first request with a
+ * key claims it in order_idempotency_keys and places the order; the claim is completed with the
+ * order id in the same transaction as the order. Retries of a completed request get the original
+ * order back, duplicates arriving while it is still being placed are rejected with 409, on this
+ * instance through an in-memory set and on others through the claimed row. Completed keys are
+ * also kept in memory, as the order id and request hash only, so most replays skip the database.
+ * Keys expire after the TTL; a claim whose checkout never finished may be taken over after the
+ * claim timeout.
+ */
+@Component
+public class OrderIdempotencyStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Cache<Key, CompletedKey> completedKeys;
+    private final Set<Key> inFlight = ConcurrentHashMap.newKeySet();
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate newTransactionTemplate;
+
+    public OrderIdempotencyStore(@Value("${project.orders.idempotency.ttlHours:24}") long ttlHours,
+                                 @Value("${project.orders.idempotency.claimTimeoutSeconds:120}") long claimTimeoutSeconds,
+                                 @Value("${project.orders.idempotency.cacheMaxSize:100000}") long cacheMaxSize) {
+        this.ttl = Duration.ofHours(ttlHours);
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.completedKeys = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        newTransactionTemplate = new TransactionTemplate(transactionManager);
+        newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, completedKeys, "orderIdempotencyKeys");
+    }
+
+    /**
+     * Places the order with {@code placement}, or returns the order an earlier request with the
+     * same key and the same request body already placed.
+     */
+    public OrderDTO placeOnce(String email, String idempotencyKey, OrderRequestDTO request, Supplier<OrderDTO> placement) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new APIException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Key key = new Key(email, idempotencyKey);
+        String requestHash = hash(request);
+
+        CompletedKey completedKey = completedKeys.getIfPresent(key);
+        if (completedKey != null) {
+            return replay(completedKey, requestHash);
+        }
+
+        if (!inFlight.add(key)) {
+            throw inProgress();
+        }
+        try {
+            OrderIdempotencyKey claim = claim(key, requestHash);
+            if (claim.getOrderId() != null) {
+                completedKey = new CompletedKey(claim.getOrderId(), claim.getRequestHash());
+                completedKeys.put(key, completedKey);
+                return replay(completedKey, requestHash);
+            }
+            return place(key, claim, placement);
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${project.orders.idempotency.purgeMs:600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status ->
+                orderIdempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            logger.debug("Purged {} expired order idempotency keys", purged);
+        }
+    }
+
+    private OrderDTO place(Key key, OrderIdempotencyKey claim, Supplier<OrderDTO> placement) {
+        OrderDTO orderDTO;
+        try {
+            orderDTO = transactionTemplate.execute(status -> {
+                OrderDTO placed = placement.get();
+                if (orderIdempotencyKeyRepository.complete(claim.getId(), placed.getOrderId()) == 0) {
+                    // Taken over after the claim timeout, the other request owns the key now
+                    throw inProgress();
+                }
+                return placed;
+            });
+        } catch (RuntimeException e) {
+            newTransactionTemplate.executeWithoutResult(status -> orderIdempotencyKeyRepository.release(claim.getId()));
+            throw e;
+        }
+        completedKeys.put(key, new CompletedKey(orderDTO.getOrderId(), claim.getRequestHash()));
+        return orderDTO;
+    }
+
+    /**
+     * Inserts the claim of the key, or returns the completed record of an earlier request.
+     * An expired record, or an unfinished claim older than the claim timeout, is replaced once.
+     */
+    private OrderIdempotencyKey claim(Key key, String requestHash) {
+        for (int attempt = 0; ; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                return newTransactionTemplate.execute(status -> orderIdempotencyKeyRepository.saveAndFlush(
+                        new OrderIdempotencyKey(key.email(), key.idempotencyKey(), requestHash, now, now.plus(ttl))));
+            } catch (DataIntegrityViolationException e) {
+                // Claimed before, look at the existing record
+            }
+
+            OrderIdempotencyKey existing = newTransactionTemplate.execute(status ->
+                    orderIdempotencyKeyRepository.findByEmailAndIdempotencyKey(key.email(), key.idempotencyKey())
+                            .orElse(null));
+            if (existing == null) {
+                // Released by a failed checkout in between
+                if (attempt == 0) {
+                    continue;
+                }
+                throw inProgress();
+            }
+
+            boolean stale = existing.getExpiresAt().isBefore(now)
+                    || (existing.getOrderId() == null && existing.getCreatedAt().isBefore(now.minus(claimTimeout)));
+            if (stale && attempt == 0) {
+                newTransactionTemplate.executeWithoutResult(status -> orderIdempotencyKeyRepository.deleteIfStale(
+                        existing.getId(), now, now.minus(claimTimeout)));
+                continue;
+            }
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new APIException("Idempotency-Key was already used for a different order request");
+            }
+            if (existing.getOrderId() == null) {
+                throw inProgress();
+            }
+            return existing;
+        }
+    }
+
+    private OrderDTO replay(CompletedKey completedKey, String requestHash) {
+        if (!completedKey.requestHash().equals(requestHash)) {
+            throw new APIException("Idempotency-Key was already used for a different order request");
+        }
+        return orderService.getOrder(completedKey.orderId());
+    }
+
+    private static ConflictException inProgress() {
+        return new ConflictException("An order request with this Idempotency-Key is already being processed");
+    }
+
+    private static String hash(OrderRequestDTO request) {
+        String canonical = String.join("\n",
+                String.valueOf(request.getAddressId()),
+                String.valueOf(request.getPaymentMethod()),
+                String.valueOf(request.getPgPaymentId()),
+                String.valueOf(request.getPgStatus()),
+                String.valueOf(request.getPgResponseMessage()),
+                String.valueOf(request.getPgName()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(String email, String idempotencyKey) {
+    }
+
+    private record CompletedKey(long orderId, String requestHash) {
+    }
+
+}
@@ -1,11 +1,19 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderResponse;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDate;
+
 public interface OrderService {
 
     @Transactional
     OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgPaymentId, String pgStatus, String pgResponseMessage, String pgName);
 
+    @Transactional
+    OrderDTO getOrder(Long orderId);
+
+    OrderResponse searchOrders(String email, String status, LocalDate from, LocalDate to, String after, Integer pageSize);
+
 }
@@ -5,19 +5,38 @@ import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.OrderResponse;
 import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.util.KeysetCursor;
+import com.ecommerce.project.util.PayloadMappers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImplementation implements OrderService {
 
+    public static final String ORDER_AGGREGATE = "Order";
+    public static final String ORDER_PLACED = "OrderPlaced";
+
+    public static final int MAX_ORDER_PAGE_SIZE = 200;
+
+    private static final String ORDER_SORT_BY = "orderDate";
+    private static final String ORDER_SORT_DIR = "desc";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("orderId"));
+
     @Autowired
     private CartRepository cartRepository;
 
@@ -33,26 +52,52 @@ public class OrderServiceImplementation implements OrderService {
     @Autowired
     private OrderItemRepository orderItemRepository;
 
-    @Autowired
-    private ProductRepository productRepository;
-
     @Autowired
     private CartService cartService;
 
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     @Transactional
     public OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgPaymentId, String pgStatus, String pgResponseMessage, String pgName) {
-        Cart cart = cartRepository.findCartByEmail(emailId);
-        if (cart == null) {
-            throw new ResourceNotFoundException("Cart", "email", emailId);
-        }
+        Cart cart = timed("cart_load", () -> {
+            // Items and their products come with the cart in one query, whatever the cart size
+            Cart emailCart = cartRepository.findCartWithItemsByEmail(emailId);
+            if (emailCart == null) {
+                throw new ResourceNotFoundException("Cart", "email", emailId);
+            }
+            return emailCart;
+        });
 
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
 
+        List<CartItem> cartItems = cart.getCartItems();
+        if (cartItems.isEmpty()) {
+            throw new APIException("Cart is empty");
+        }
+
+        Map<Long, Integer> quantitiesByProductId = new HashMap<>();
+        cartItems.forEach(item ->
+                quantitiesByProductId.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum));
+        Map<Long, Integer> remainingStock = timed("stock_decrement", () -> inventoryService.reserve(quantitiesByProductId));
+
         Order order = new Order();
         order.setEmail(emailId);
         order.setOrderDate(LocalDate.now());
@@ -62,16 +107,11 @@ public class OrderServiceImplementation implements OrderService {
 
         Payment payment = new Payment(paymentMethod, pgPaymentId, pgStatus, pgResponseMessage, pgName);
         payment.setOrder(order);
-        payment = paymentRepository.save(payment);
+        Payment savedPayment = timed("payment_save", () -> paymentRepository.save(payment));
 
-        order.setPayment(payment);
+        order.setPayment(savedPayment);
         Order savedOrder = orderRepository.save(order);
 
-        List<CartItem> cartItems = cart.getCartItems();
-        if (cartItems.isEmpty()) {
-            throw new APIException("Cart is empty");
-        }
-
         List<OrderItem> orderItems = new ArrayList<>();
         for (CartItem cartItem : cartItems) {
             OrderItem orderItem = new OrderItem();
@@ -84,27 +124,94 @@ public class OrderServiceImplementation implements OrderService {
             orderItems.add(orderItem);
         }
 
-        orderItems = orderItemRepository.saveAll(orderItems);
+        List<OrderItem> savedOrderItems = timed("item_save", () -> orderItemRepository.saveAll(orderItems));
 
-        cart.getCartItems().forEach(item -> {
-            int quantity = item.getQuantity();
-            Product product = item.getProduct();
-            product.setQuantity(product.getQuantity() - quantity);
+        timed("cart_clear", () -> {
+            cartService.clearCart(cart.getCartId());
+            return null;
+        });
 
-            productRepository.save(product);
+        // Clearing the cart detached the products, so the remaining stock is only copied for the response
+        cartItems.forEach(item -> {
+            Product product = item.getProduct();
+            product.setQuantity(remainingStock.get(product.getProductId()));
 
-            cartService.deleteProductFromCart(cart.getCartId(), item.getProduct().getProductId());
+            productSearchIndex.updateQuantity(product.getProductId(), product.getQuantity());
+            productCache.updateQuantity(product.getProductId(), product.getQuantity());
         });
 
         OrderDTO orderDTO = modelMapper.map(savedOrder, OrderDTO.class);
-        orderItems.forEach(item ->
+        savedOrderItems.forEach(item ->
                 orderDTO.getOrderItems()
                         .add(modelMapper.map(item, OrderItemDTO.class))
         );
 
         orderDTO.setAddressId(addressId);
 
+        outboxService.append(ORDER_AGGREGATE, savedOrder.getOrderId(), ORDER_PLACED, orderDTO);
+
         return orderDTO;
     }
 
+    @Override
+    @Transactional
+    public OrderDTO getOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "orderId", orderId));
+        return modelMapper.map(order, OrderDTO.class);
+    }
+
+    /**
+     * Lists orders newest first with keyset pagination. A page takes three queries however deep
+     * it is: the orders themselves, then the addresses and payments, then the items of the page.
+     */
+    @Override
+    public OrderResponse searchOrders(String email, String status, LocalDate from, LocalDate to, String after, Integer pageSize) {
+        if (pageSize == null || pageSize < 1 || pageSize > MAX_ORDER_PAGE_SIZE) {
+            throw new APIException("pageSize must be between 1 and " + MAX_ORDER_PAGE_SIZE);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new APIException("The start date must not be after the end date");
+        }
+
+        ScrollPosition position = KeysetCursor.decode(after, Order.class, ORDER_SORT_BY, ORDER_SORT_DIR);
+        Window<OrderView> orderWindow = orderRepository.findBy(OrderSpecifications.matching(email, status, from, to),
+                query -> query.as(OrderView.class).sortBy(NEWEST_FIRST).limit(pageSize).scroll(position));
+
+        List<Long> orderIds = orderWindow.stream().map(OrderView::getOrderId).toList();
+        Map<Long, OrderDetailsView> details = new HashMap<>();
+        Map<Long, List<OrderItemDTO>> orderItems = new HashMap<>();
+        if (!orderIds.isEmpty()) {
+            details = orderRepository.findDetailsByOrderIdIn(orderIds).stream()
+                    .collect(Collectors.toMap(OrderDetailsView::getOrderId, Function.identity()));
+            orderItems = orderItemRepository.findViewsByOrderIdIn(orderIds).stream()
+                    .collect(Collectors.groupingBy(OrderItemView::getOrderId,
+                            Collectors.mapping(PayloadMappers::toOrderItemDTO, Collectors.toList())));
+        }
+
+        List<OrderDTO> orderDTOS = new ArrayList<>(orderIds.size());
+        for (OrderView order : orderWindow) {
+            orderDTOS.add(PayloadMappers.toOrderDTO(order, details.get(order.getOrderId()),
+                    orderItems.getOrDefault(order.getOrderId(), new ArrayList<>())));
+        }
+
+        OrderResponse orderResponse = new OrderResponse();
+        orderResponse.setContent(orderDTOS);
+        orderResponse.setPageSize(pageSize);
+        orderResponse.setLastPage(orderWindow.isLast());
+        orderResponse.setNextCursor(KeysetCursor.next(orderWindow, ORDER_SORT_BY, ORDER_SORT_DIR));
+        return orderResponse;
+    }
+
+    /**
+     * Records a checkout step under order.placement.stage, tagged with the stage name.
+     */
+    private <T> T timed(String stage, Supplier<T> step) {
+        return Timer.builder("order.placement.stage")
+                .description("Time spent in each step of placing an order")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(step);
+    }
+
 }
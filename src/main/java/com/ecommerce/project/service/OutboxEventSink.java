@@ -0,0 +1,18 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the events drained from the outbox. A batch arrives grouped by aggregate, each
+ * aggregate's events in the order they were written; there is no order across aggregates. When
+ * publish returns, the events are removed from the outbox, when it throws they are offered
+ * again on the next poll. Sinks therefore see every event at least once, and may see it twice.
+ */
+public interface OutboxEventSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+
+}
@@ -0,0 +1,145 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox_events table to the configured {@link OutboxEventSink}. Each batch is read
+ * with its rows locked, handed to the sink and deleted in one transaction; a sink failure rolls
+ * the batch back so it is published again on the next poll. The row locks keep a relay on another
+ * instance from publishing the same batch in parallel.
+ * <p>
+ * Delivery is ordered per aggregate only. Event ids come from an identity column, so a
+ * transaction that commits late can hold a lower id than events already published, and a global
+ * id order would be broken by it anyway. Events of one aggregate are written under that
+ * aggregate's lock, so within an aggregate id order is commit order and the relay publishes by
+ * (aggregate, event id).
+ * <p>
+ * The backlog gauges are derived from the batches read rather than counted: a batch that comes
+ * up short means the outbox was drained, and a batch that fails is what is left waiting.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxEventSink outboxEventSink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${project.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${project.outbox.relay.batchSize:100}")
+    private int batchSize;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+    private TransactionTemplate transactionTemplate;
+    private Counter publishedEvents;
+    private Timer eventLag;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        publishedEvents = Counter.builder("outbox.events.published")
+                .description("Events handed to the outbox sink")
+                .register(meterRegistry);
+        eventLag = Timer.builder("outbox.event.lag")
+                .description("Time from writing an event to the outbox until the sink accepted it")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.pending", pendingEvents, AtomicLong::get)
+                .description("Events the last poll left in the outbox, at most one batch")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.oldest.pending.age", oldestPendingAgeMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest event the last poll left in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${project.outbox.relay.pollMs:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            logger.warn("Publishing outbox events failed, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes batches until the outbox is empty and returns the number of events published.
+     */
+    public int relayPending() {
+        int published = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            published += batch;
+        } while (batch == batchSize);
+        // The last batch came up short, so nothing that was waiting is left behind
+        updateBacklog(List.of());
+        return published;
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByOrderByAggregateTypeAscAggregateIdAscEventIdAsc(Limit.of(batchSize));
+        updateBacklog(events);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            outboxEventSink.publish(events);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> eventLag.record(Duration.between(event.getCreatedAt(), now)));
+        publishedEvents.increment(events.size());
+        return events.size();
+    }
+
+    private void updateBacklog(List<OutboxEvent> waiting) {
+        LocalDateTime now = LocalDateTime.now();
+        pendingEvents.set(waiting.size());
+        oldestPendingAgeMs.set(waiting.stream()
+                .mapToLong(event -> Duration.between(event.getCreatedAt(), now).toMillis())
+                .max()
+                .orElse(0L));
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.project.service;
+
+import jakarta.transaction.Transactional;
+
+public interface OutboxService {
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    void append(String aggregateType, Long aggregateId, String eventType, Object payload);
+
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes events to the outbox_events table inside the caller's transaction, so an event exists
+ * exactly when the change it describes was committed. {@link OutboxRelay} publishes them.
+ */
+@Service
+public class OutboxServiceImplementation implements OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event of " + aggregateType + " " + aggregateId, e);
+        }
+        outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CacheStatsDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of product snapshots and listing pages. Entries are bounded by size and
+ * TTL. Changes that can alter listings (create, delete, name, price, category, image) evict the
+ * product and the pages it can appear on; stock changes only rewrite the cached quantity, so
+ * checkout traffic does not keep emptying the listing cache.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    private final Cache<Long, ProductDTO> products;
+    private final Cache<PageKey, ProductResponse> pages;
+
+    public ProductCache(@Value("${project.cache.productMaxSize}") long productMaxSize,
+                        @Value("${project.cache.productTtlSeconds}") long productTtlSeconds,
+                        @Value("${project.cache.pageMaxSize}") long pageMaxSize,
+                        @Value("${project.cache.pageTtlSeconds}") long pageTtlSeconds) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(productTtlSeconds))
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(pageTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public ProductDTO getProduct(Long productId) {
+        ProductDTO productDTO = products.get(productId, id -> productRepository.findById(id)
+                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", id)));
+        return copyOf(productDTO);
+    }
+
+    public ProductResponse getPage(Long categoryId, String query, Supplier<ProductResponse> loader) {
+        return pages.get(new PageKey(categoryId, query), key -> loader.get());
+    }
+
+    public void evict(Product product) {
+        Long categoryId = product.getCategory() == null ? null : product.getCategory().getCategoryId();
+        evict(product.getProductId(), categoryId);
+    }
+
+    public void evict(Long productId, Long categoryId) {
+        Runnable eviction = () -> {
+            products.invalidate(productId);
+            pages.asMap().keySet().removeIf(key -> key.categoryId() == null || Objects.equals(key.categoryId(), categoryId));
+        };
+        // Again after completion: a read during the transaction may have cached the old state
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Sets the stock of a product in its cached snapshot and in the cached pages listing it,
+     * once the surrounding transaction commits.
+     */
+    public void updateQuantity(Long productId, Integer quantity) {
+        Runnable update = () -> {
+            products.asMap().computeIfPresent(productId, (id, product) -> withQuantity(product, quantity));
+            pages.asMap().forEach((key, page) -> {
+                if (lists(page, productId)) {
+                    pages.asMap().computeIfPresent(key, (k, current) -> withQuantity(current, productId, quantity));
+                }
+            });
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    public void evictAll() {
+        products.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    public List<CacheStatsDTO> stats() {
+        return List.of(CacheStatsDTO.from("products", products), CacheStatsDTO.from("productPages", pages));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, products, "products");
+        CaffeineCacheMetrics.monitor(registry, pages, "productPages");
+    }
+
+    private static ProductDTO copyOf(ProductDTO productDTO) {
+        return new ProductDTO(productDTO.getProductId(), productDTO.getProductName(), productDTO.getImage(),
+                productDTO.getDescription(), productDTO.getQuantity(), productDTO.getPrice(),
+                productDTO.getDiscount(), productDTO.getSpecialPrice());
+    }
+
+    private static ProductDTO withQuantity(ProductDTO productDTO, Integer quantity) {
+        ProductDTO copy = copyOf(productDTO);
+        copy.setQuantity(quantity);
+        return copy;
+    }
+
+    private static boolean lists(ProductResponse page, Long productId) {
+        return page.getContent() != null
+                && page.getContent().stream().anyMatch(product -> productId.equals(product.getProductId()));
+    }
+
+    // Cached pages are handed out as they are, so a changed page is copied rather than modified
+    private static ProductResponse withQuantity(ProductResponse page, Long productId, Integer quantity) {
+        List<ProductDTO> content = page.getContent().stream()
+                .map(product -> productId.equals(product.getProductId()) ? withQuantity(product, quantity) : product)
+                .toList();
+        return new ProductResponse(content, page.getPageNumber(), page.getPageSize(), page.getTotalElements(),
+                page.getTotalPages(), page.isLastPage(), page.getNextCursor());
+    }
+
+    private record PageKey(Long categoryId, String query) {
+    }
+
+}
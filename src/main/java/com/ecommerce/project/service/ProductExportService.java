@@ -0,0 +1,10 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.ProductFileFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface ProductExportService {
+
+    StreamingResponseBody exportProducts(Long categoryId, ProductFileFormat format);
+
+}
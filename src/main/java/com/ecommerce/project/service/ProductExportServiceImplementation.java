@@ -0,0 +1,140 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFileFormat;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductView;
+import com.ecommerce.project.util.PayloadMappers;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the catalog straight from a database cursor into the response. Rows are read in
+ * fetch-size batches as the output is written, so memory stays flat however large the catalog
+ * is, and a slow client holds the cursor back through the blocking servlet output stream.
+ */
+@Service
+public class ProductExportServiceImplementation implements ProductExportService {
+
+    private static final Sort EXPORT_ORDER = Sort.by("productId").ascending();
+    private static final String CSV_HEADER = "productId,productName,image,description,quantity,price,discount,specialPrice";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ObjectWriter productWriter;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        productWriter = objectMapper.writerFor(ProductDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public StreamingResponseBody exportProducts(Long categoryId, ProductFileFormat format) {
+        // Checked before the response is committed, so an unknown category is still a 404
+        if (categoryId != null) {
+            categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+        }
+
+        return outputStream -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<ProductView> products = categoryId == null
+                            ? productRepository.streamProjectedBy(EXPORT_ORDER)
+                            : productRepository.streamProjectedByCategoryCategoryId(categoryId, EXPORT_ORDER)) {
+                        write(products.iterator(), format, outputStream);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void write(Iterator<ProductView> products, ProductFileFormat format, OutputStream outputStream) throws IOException {
+        switch (format) {
+            case NDJSON -> writeNdjson(products, outputStream);
+            case CSV -> writeCsv(products, outputStream);
+        }
+    }
+
+    private void writeNdjson(Iterator<ProductView> products, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (products.hasNext()) {
+                productWriter.writeValue(generator, PayloadMappers.toProductDTO(products.next()));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<ProductView> products, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (products.hasNext()) {
+            ProductView product = products.next();
+            writer.write(String.valueOf(product.getProductId()));
+            writer.write(',');
+            writer.write(csvField(product.getProductName()));
+            writer.write(',');
+            writer.write(csvField(product.getImage()));
+            writer.write(',');
+            writer.write(csvField(product.getDescription()));
+            writer.write(',');
+            writer.write(product.getQuantity() == null ? "" : product.getQuantity().toString());
+            writer.write(',');
+            writer.write(BigDecimal.valueOf(product.getPrice()).toPlainString());
+            writer.write(',');
+            writer.write(BigDecimal.valueOf(product.getDiscount()).toPlainString());
+            writer.write(',');
+            writer.write(BigDecimal.valueOf(product.getSpecialPrice()).toPlainString());
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.ProductFileFormat;
+import com.ecommerce.project.payload.ProductImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportReportDTO importProducts(InputStream inputStream, ProductFileFormat format, Long defaultCategoryId) throws IOException;
+
+}
@@ -0,0 +1,408 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFileFormat;
+import com.ecommerce.project.payload.ProductImportErrorDTO;
+import com.ecommerce.project.payload.ProductImportReportDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.CsvRecordReader;
+import com.ecommerce.project.util.ProductNames;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Imports supplier files of any size. The file is read one record at a time on the calling
+ * thread, which validates each row and drops names the category already has; accepted rows
+ * are grouped into chunks that worker threads save, one transaction per chunk. A bounded
+ * number of chunks is in flight, so reading waits for the workers instead of buffering the
+ * file. Chunks commit independently: a failing chunk is retried row by row and only the
+ * offending rows end up in the report.
+ */
+@Service
+public class ProductImportServiceImplementation implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImplementation.class);
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("productName", "description", "price");
+    private static final List<String> COLUMNS = List.of("productName", "description", "quantity", "price", "discount", "categoryId");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SimpleAsyncTaskExecutorBuilder taskExecutorBuilder;
+
+    @Value("${project.import.chunkSize:500}")
+    private int chunkSize;
+
+    @Value("${project.import.workers:4}")
+    private int workers;
+
+    @Value("${project.import.maxReportedErrors:1000}")
+    private int maxReportedErrors;
+
+    private SimpleAsyncTaskExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        // Platform or virtual threads as configured by spring.threads.virtual.enabled
+        executor = taskExecutorBuilder
+                .threadNamePrefix("product-import-")
+                .concurrencyLimit(workers)
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    @Override
+    public ProductImportReportDTO importProducts(InputStream inputStream, ProductFileFormat format, Long defaultCategoryId) throws IOException {
+        ImportRun run = new ImportRun(defaultCategoryId);
+        Semaphore chunksInFlight = new Semaphore(workers * 2);
+        List<Future<?>> submitted = new ArrayList<>();
+        List<PendingProduct> chunk = new ArrayList<>(chunkSize);
+
+        try {
+            RowReader rows = openReader(inputStream, format, defaultCategoryId);
+            while (true) {
+                Map<String, String> fields;
+                try {
+                    fields = rows.next();
+                } catch (IOException | RuntimeException e) {
+                    run.failed(run.totalRows + 1, null, "Could not read the rest of the file: " + e.getMessage());
+                    break;
+                }
+                if (fields == null) {
+                    break;
+                }
+                PendingProduct pending = run.accept(++run.totalRows, fields);
+                if (pending == null) {
+                    continue;
+                }
+                chunk.add(pending);
+                if (chunk.size() == chunkSize) {
+                    submitted.add(submit(run, chunk, chunksInFlight));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submitted.add(submit(run, chunk, chunksInFlight));
+            }
+        } finally {
+            awaitAll(submitted);
+            if (run.imported.get() > 0) {
+                productCache.evictAll();
+            }
+        }
+
+        ProductImportReportDTO report = run.report();
+        logger.info("Imported {} of {} products ({} duplicates, {} failed)",
+                report.getImported(), report.getTotalRows(), report.getDuplicates(), report.getFailed());
+        return report;
+    }
+
+    private Future<?> submit(ImportRun run, List<PendingProduct> chunk, Semaphore chunksInFlight) {
+        try {
+            chunksInFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APIException("Import interrupted");
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    saveChunk(run, chunk);
+                } finally {
+                    chunksInFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            chunksInFlight.release();
+            throw e;
+        }
+    }
+
+    private void awaitAll(List<Future<?>> submitted) {
+        for (Future<?> future : submitted) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new APIException("Import interrupted");
+            } catch (ExecutionException e) {
+                logger.error("Import chunk failed unexpectedly", e.getCause());
+            }
+        }
+    }
+
+    private void saveChunk(ImportRun run, List<PendingProduct> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(chunk));
+            run.imported.addAndGet(chunk.size());
+        } catch (RuntimeException e) {
+            logger.warn("Saving a chunk of {} imported products failed, retrying row by row: {}",
+                    chunk.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (PendingProduct pending : chunk) {
+                pending.product().setProductId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save(List.of(pending)));
+                    run.imported.incrementAndGet();
+                } catch (DataIntegrityViolationException rowFailure) {
+                    if (ProductNames.isDuplicateName(rowFailure)) {
+                        run.duplicate(pending.row(), pending.product().getProductName(),
+                                pending.product().getCategory().getCategoryId());
+                    } else {
+                        run.failed(pending.row(), pending.product().getProductName(),
+                                NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                    }
+                } catch (RuntimeException rowFailure) {
+                    run.failed(pending.row(), pending.product().getProductName(),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private void save(List<PendingProduct> chunk) {
+        List<Product> products = productRepository.saveAll(chunk.stream().map(PendingProduct::product).toList());
+        for (Product product : products) {
+            productSearchIndex.index(modelMapper.map(product, ProductDTO.class));
+        }
+    }
+
+    private RowReader openReader(InputStream inputStream, ProductFileFormat format, Long defaultCategoryId) throws IOException {
+        return switch (format) {
+            case CSV -> csvReader(inputStream, defaultCategoryId);
+            case NDJSON -> ndjsonReader(inputStream);
+        };
+    }
+
+    private RowReader csvReader(InputStream inputStream, Long defaultCategoryId) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new APIException("The import file is empty");
+        }
+        List<String> columns = header.stream().map(String::strip).toList();
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.contains(required)) {
+                throw new APIException("The import file has no '" + required + "' column");
+            }
+        }
+        if (defaultCategoryId == null && !columns.contains("categoryId")) {
+            throw new APIException("The import file has no 'categoryId' column and no category was given");
+        }
+
+        return () -> {
+            List<String> record;
+            do {
+                record = reader.readRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < columns.size() && i < record.size(); i++) {
+                fields.put(columns.get(i), record.get(i));
+            }
+            return fields;
+        };
+    }
+
+    private RowReader ndjsonReader(InputStream inputStream) throws IOException {
+        MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(inputStream);
+        return () -> {
+            if (!nodes.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = nodes.nextValue();
+            Map<String, String> fields = new HashMap<>();
+            for (String column : COLUMNS) {
+                JsonNode value = node.get(column);
+                if (value != null && !value.isNull()) {
+                    fields.put(column, value.asText());
+                }
+            }
+            return fields;
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+
+        /**
+         * Returns the next record keyed by column name, or null at the end of the file.
+         */
+        Map<String, String> next() throws IOException;
+
+    }
+
+    private record PendingProduct(long row, Product product) {
+    }
+
+    private record CategoryNames(Category category, Set<String> names) {
+    }
+
+    /**
+     * State of one import. Counters and the error list are shared with the workers; the
+     * category name index is only touched by the reading thread.
+     */
+    private class ImportRun {
+
+        private final Long defaultCategoryId;
+        private final Map<Long, Optional<CategoryNames>> categories = new HashMap<>();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private long totalRows;
+
+        ImportRun(Long defaultCategoryId) {
+            this.defaultCategoryId = defaultCategoryId;
+        }
+
+        PendingProduct accept(long row, Map<String, String> fields) {
+            String productName = fields.get("productName");
+            Product product = new Product();
+            Long categoryId;
+            try {
+                product.setProductName(productName);
+                product.setDescription(fields.get("description"));
+                product.setQuantity(parse(fields, "quantity", Integer::valueOf, 0));
+                product.setPrice(parse(fields, "price", Double::valueOf, null));
+                product.setDiscount(parse(fields, "discount", Double::valueOf, 0.0));
+                categoryId = parse(fields, "categoryId", Long::valueOf, defaultCategoryId);
+            } catch (IllegalArgumentException e) {
+                failed(row, productName, e.getMessage());
+                return null;
+            }
+
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                failed(row, productName, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .reduce((first, second) -> first + ", " + second)
+                        .orElseThrow());
+                return null;
+            }
+
+            Optional<CategoryNames> category = categories.computeIfAbsent(categoryId, this::loadCategory);
+            if (category.isEmpty()) {
+                failed(row, productName, "Category not found with categoryId: " + categoryId);
+                return null;
+            }
+            if (!category.get().names().add(ProductNames.normalize(productName))) {
+                duplicate(row, productName, categoryId);
+                return null;
+            }
+
+            product.setImage("default.png");
+            product.setCategory(category.get().category());
+            product.setSpecialPrice(product.getPrice() - ((product.getDiscount() / 100) * product.getPrice()));
+            return new PendingProduct(row, product);
+        }
+
+        private Optional<CategoryNames> loadCategory(Long categoryId) {
+            return categoryRepository.findById(categoryId).map(category -> {
+                Set<String> names = new HashSet<>(productRepository.findNormalizedNamesByCategoryId(categoryId));
+                return new CategoryNames(category, names);
+            });
+        }
+
+        private <T> T parse(Map<String, String> fields, String column, Function<String, T> parser, T defaultValue) {
+            String value = fields.get(column);
+            if (value == null || value.isBlank()) {
+                if (defaultValue == null) {
+                    throw new IllegalArgumentException(column + " is required");
+                }
+                return defaultValue;
+            }
+            try {
+                return parser.apply(value.strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " must be a number, got '" + value + "'");
+            }
+        }
+
+        void duplicate(long row, String productName, Long categoryId) {
+            duplicates.incrementAndGet();
+            report(new ProductImportErrorDTO(row, productName, "Product already exists in category " + categoryId));
+        }
+
+        void failed(long row, String productName, String message) {
+            failed.incrementAndGet();
+            report(new ProductImportErrorDTO(row, productName, message));
+        }
+
+        private synchronized void report(ProductImportErrorDTO error) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        synchronized ProductImportReportDTO report() {
+            List<ProductImportErrorDTO> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(ProductImportErrorDTO::getRow));
+            return new ProductImportReportDTO(totalRows, imported.get(), duplicates.get(), failed.get(), sorted, errorsTruncated);
+        }
+
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory n-gram inverted index over product names and descriptions.
+ * Answers substring keyword queries without a leading-wildcard LIKE scan.
+ * Writes made inside a transaction are applied once it commits.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private static final Map<String, Comparator<ProductDTO>> SORT_FIELDS = Map.of(
+            "productId", nullsFirst(ProductDTO::getProductId),
+            "productName", nullsFirst(ProductDTO::getProductName),
+            "description", nullsFirst(ProductDTO::getDescription),
+            "image", nullsFirst(ProductDTO::getImage),
+            "quantity", nullsFirst(ProductDTO::getQuantity),
+            "price", Comparator.comparingDouble(ProductDTO::getPrice),
+            "discount", Comparator.comparingDouble(ProductDTO::getDiscount),
+            "specialPrice", Comparator.comparingDouble(ProductDTO::getSpecialPrice)
+    );
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductDTO> productDTOS = productRepository.findAll()
+                .stream()
+                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            productDTOS.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(ProductDTO productDTO) {
+        ProductDTO snapshot = copyOf(productDTO);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(snapshot.getProductId());
+                add(snapshot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void updateQuantity(Long productId, Integer quantity) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                IndexedProduct document = documents.get(productId);
+                if (document != null) {
+                    ProductDTO product = copyOf(document.product());
+                    product.setQuantity(quantity);
+                    documents.put(productId, new IndexedProduct(product, document.name(), document.description()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long productId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                delete(productId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Page<ProductDTO> search(String keyword, Pageable pageable) {
+        String term = normalize(keyword);
+        Comparator<ProductDTO> comparator = comparatorFor(pageable.getSort());
+
+        List<ProductDTO> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long productId : candidates(term)) {
+                IndexedProduct document = documents.get(productId);
+                if (document != null && document.matches(term)) {
+                    matches.add(document.product());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator);
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<ProductDTO> content = matches.subList(from, to)
+                .stream()
+                .map(ProductSearchIndex::copyOf)
+                .toList();
+
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String term) {
+        if (term.length() < GRAM_SIZE) {
+            return documents.keySet();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.getFirst());
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void add(ProductDTO productDTO) {
+        IndexedProduct document = new IndexedProduct(productDTO,
+                normalize(productDTO.getProductName()),
+                normalize(productDTO.getDescription()));
+        documents.put(productDTO.getProductId(), document);
+        document.grams().forEach(gram ->
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(productDTO.getProductId()));
+    }
+
+    private void delete(Long productId) {
+        IndexedProduct document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        document.grams().forEach(gram -> {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        });
+    }
+
+    private static Comparator<ProductDTO> comparatorFor(Sort sort) {
+        Comparator<ProductDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<ProductDTO> fieldComparator = SORT_FIELDS.get(order.getProperty());
+            if (fieldComparator == null) {
+                throw new APIException("Products cannot be sorted by " + order.getProperty());
+            }
+            if (order.isDescending()) {
+                fieldComparator = fieldComparator.reversed();
+            }
+            comparator = comparator == null ? fieldComparator : comparator.thenComparing(fieldComparator);
+        }
+        Comparator<ProductDTO> byId = SORT_FIELDS.get("productId");
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<ProductDTO> nullsFirst(Function<ProductDTO, T> getter) {
+        return Comparator.comparing(getter, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static ProductDTO copyOf(ProductDTO productDTO) {
+        return new ProductDTO(productDTO.getProductId(), productDTO.getProductName(), productDTO.getImage(),
+                productDTO.getDescription(), productDTO.getQuantity(), productDTO.getPrice(),
+                productDTO.getDiscount(), productDTO.getSpecialPrice());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record IndexedProduct(ProductDTO product, String name, String description) {
+
+        boolean matches(String term) {
+            return name.contains(term) || description.contains(term);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = ProductSearchIndex.grams(name);
+            grams.addAll(ProductSearchIndex.grams(description));
+            return grams;
+        }
+
+    }
+
+}
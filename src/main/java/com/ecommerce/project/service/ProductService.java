@@ -11,6 +11,8 @@ public interface ProductService {
     ProductDTO addProduct(Long categoryId, ProductDTO productDTO);
     ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
     ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ProductResponse scrollProducts(String after, Integer pageSize, String sortBy, String sortOrder);
+    ProductResponse scrollProductsByCategory(Long categoryId, String after, Integer pageSize, String sortBy, String sortOrder);
     ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
     ProductDTO updateProduct(Long productId, ProductDTO productDTO);
     ProductDTO deleteProduct(Long productId);
@@ -5,28 +5,37 @@ import com.ecommerce.project.exceptions.ResourceNotFoundException;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
-import com.ecommerce.project.payload.CartDTO;
 import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.payload.ProductResponse;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductView;
+import com.ecommerce.project.util.KeysetCursor;
+import com.ecommerce.project.util.PayloadMappers;
+import com.ecommerce.project.util.ProductNames;
+import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImplementation implements ProductService {
 
+    // Product columns that are never null, the only ones a scroll cursor can continue from
+    private static final Set<String> SCROLL_SORT_PROPERTIES = Set.of("productId", "productName", "price", "discount", "specialPrice");
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -39,57 +48,82 @@ public class ProductServiceImplementation implements ProductService {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private RepricingJobService repricingJobService;
+
     @Autowired
     private ModelMapper modelMapper;
 
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductCache productCache;
+
     @Value("${project.image}")
     private String path;
 
+    @Value("${project.cart.repricing.async:true}")
+    private boolean asyncRepricing;
+
     @Override
     public ProductDTO addProduct(Long categoryId, ProductDTO productDTO) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
-        boolean productNotPresent = true;
-
-        List<Product> products = category.getProducts();
-        for (Product product : products) {
-            if (product.getProductName().equals(productDTO.getProductName())) {
-                productNotPresent = false;
-                break;
-            }
+        if (productRepository.existsByCategoryCategoryIdAndNormalizedName(categoryId, ProductNames.normalize(productDTO.getProductName()))) {
+            throw new APIException("Product already exists!");
         }
 
-        if (productNotPresent) {
-            Product product = modelMapper.map(productDTO, Product.class);
-            product.setImage("default.png");
-            product.setCategory(category);
-            double specialPrice = product.getPrice() - ((product.getDiscount() / 100) * product.getPrice());
-            product.setSpecialPrice(specialPrice);
-            Product savedProduct = productRepository.save(product);
-            return modelMapper.map(savedProduct, ProductDTO.class);
-        } else {
-            throw new APIException("Product already exists!");
+        Product product = modelMapper.map(productDTO, Product.class);
+        product.setImage("default.png");
+        product.setCategory(category);
+        double specialPrice = product.getPrice() - ((product.getDiscount() / 100) * product.getPrice());
+        product.setSpecialPrice(specialPrice);
+        Product savedProduct = saveUniquelyNamed(product);
+        ProductDTO savedProductDTO = modelMapper.map(savedProduct, ProductDTO.class);
+        productSearchIndex.index(savedProductDTO);
+        productCache.evict(savedProduct);
+        return savedProductDTO;
+    }
+
+    /**
+     * The existence check leaves a window for a concurrent insert of the same name; the
+     * unique constraint closes it, and flushing here turns a collision into the same error.
+     */
+    private Product saveUniquelyNamed(Product product) {
+        try {
+            return productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            if (ProductNames.isDuplicateName(e)) {
+                throw new APIException("Product already exists!");
+            }
+            throw e;
         }
     }
 
     @Override
     public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        return productCache.getPage(null, pageQuery("page", pageNumber, pageSize, sortBy, sortOrder),
+                () -> loadAllProducts(pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findAll(pageDetails);
+        Page<ProductView> productPage = productRepository.findProjectedBy(pageDetails);
 
-        List<Product> products = productPage.getContent();
+        List<ProductView> products = productPage.getContent();
         if (products.isEmpty()) {
             throw new APIException("There are no products.");
         }
 
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(PayloadMappers::toProductDTO)
                 .toList();
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productDTOS);
@@ -103,21 +137,26 @@ public class ProductServiceImplementation implements ProductService {
 
     @Override
     public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Category category = categoryRepository.findById(categoryId)
+        return productCache.getPage(categoryId, pageQuery("page", pageNumber, pageSize, sortBy, sortOrder),
+                () -> loadProductsByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadProductsByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByCategoryOrderByPriceAsc(category, pageDetails);
+        Page<ProductView> productPage = productRepository.findProjectedByCategoryCategoryIdOrderByPriceAsc(categoryId, pageDetails);
 
-        List<Product> products = productPage.getContent();
+        List<ProductView> products = productPage.getContent();
         if (products.isEmpty()) {
             throw new APIException("There are no products for a particular category.");
         }
 
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(PayloadMappers::toProductDTO)
                 .toList();
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productDTOS);
@@ -129,21 +168,61 @@ public class ProductServiceImplementation implements ProductService {
         return productResponse;
     }
 
+    @Override
+    public ProductResponse scrollProducts(String after, Integer pageSize, String sortBy, String sortOrder) {
+        KeysetCursor.requireSortable(sortBy, SCROLL_SORT_PROPERTIES);
+        return productCache.getPage(null, pageQuery("scroll", after, pageSize, sortBy, sortOrder),
+                () -> loadProductWindow(after, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadProductWindow(String after, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        ScrollPosition position = KeysetCursor.decode(after, Product.class, sortBy, sortOrder);
+        Window<ProductView> productWindow = productRepository.findProjectedBy(position, sortByAndOrder, Limit.of(pageSize));
+
+        if (productWindow.isEmpty()) {
+            throw new APIException("There are no products.");
+        }
+
+        return toProductResponse(productWindow, pageSize, sortBy, sortOrder);
+    }
+
+    @Override
+    public ProductResponse scrollProductsByCategory(Long categoryId, String after, Integer pageSize, String sortBy, String sortOrder) {
+        KeysetCursor.requireSortable(sortBy, SCROLL_SORT_PROPERTIES);
+        return productCache.getPage(categoryId, pageQuery("scroll", after, pageSize, sortBy, sortOrder),
+                () -> loadProductWindowByCategory(categoryId, after, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadProductWindowByCategory(Long categoryId, String after, Integer pageSize, String sortBy, String sortOrder) {
+        categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        ScrollPosition position = KeysetCursor.decode(after, Product.class, sortBy, sortOrder);
+        Window<ProductView> productWindow = productRepository.findProjectedByCategoryCategoryId(categoryId, position, sortByAndOrder, Limit.of(pageSize));
+
+        if (productWindow.isEmpty()) {
+            throw new APIException("There are no products for a particular category.");
+        }
+
+        return toProductResponse(productWindow, pageSize, sortBy, sortOrder);
+    }
+
     @Override
     public ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase("%" + keyword + "%", pageDetails);
+        Page<ProductDTO> productPage = productSearchIndex.search(keyword, pageDetails);
 
-        List<Product> products = productPage.getContent();
-        if (products.isEmpty()) {
+        List<ProductDTO> productDTOS = productPage.getContent();
+        if (productDTOS.isEmpty()) {
             throw new APIException("There are no products that match this keyword.");
         }
 
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
-                .toList();
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productDTOS);
         productResponse.setPageNumber(productPage.getNumber());
@@ -155,10 +234,22 @@ public class ProductServiceImplementation implements ProductService {
     }
 
     @Override
+    @Transactional
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         Product productFromDb = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
+        String normalizedName = ProductNames.normalize(productDTO.getProductName());
+        if (!Objects.equals(normalizedName, productFromDb.getNormalizedName())) {
+            boolean taken = productRepository.existsByCategoryCategoryIdAndNormalizedNameAndProductIdNot(
+                    productFromDb.getCategory().getCategoryId(), normalizedName, productId);
+            if (!taken) {
+                productFromDb.setNormalizedName(normalizedName);
+            } else if (!ProductNames.clashKey(normalizedName, productId).equals(productFromDb.getNormalizedName())) {
+                throw new APIException("Product already exists!");
+            }
+        }
+
         productFromDb.setProductName(productDTO.getProductName());
         productFromDb.setDescription(productDTO.getDescription());
         productFromDb.setQuantity(productDTO.getQuantity());
@@ -167,22 +258,18 @@ public class ProductServiceImplementation implements ProductService {
         double specialPrice = productDTO.getPrice() - ((productDTO.getDiscount() / 100) * productDTO.getPrice());
         productFromDb.setSpecialPrice(specialPrice);
 
-        Product savedProduct = productRepository.save(productFromDb);
-
-        List<Cart> carts = cartRepository.findCartsByProductId(productId);
-
-        List<CartDTO> cartDTOS = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-            List<ProductDTO> productDTOS = cart.getCartItems().stream()
-                    .map(item -> modelMapper.map(item.getProduct(), ProductDTO.class))
-                    .toList();
-            cartDTO.setProducts(productDTOS);
-            return cartDTO;
-        }).toList();
+        Product savedProduct = saveUniquelyNamed(productFromDb);
 
-        cartDTOS.forEach(cart -> cartService.updateProductInCarts(cart.getCartId(), productId));
+        if (asyncRepricing) {
+            repricingJobService.submit(productId, specialPrice);
+        } else {
+            cartService.repriceProductInCarts(productId, specialPrice);
+        }
 
-        return modelMapper.map(savedProduct, ProductDTO.class);
+        ProductDTO savedProductDTO = modelMapper.map(savedProduct, ProductDTO.class);
+        productSearchIndex.index(savedProductDTO);
+        productCache.evict(savedProduct);
+        return savedProductDTO;
     }
 
     @Override
@@ -194,6 +281,8 @@ public class ProductServiceImplementation implements ProductService {
         carts.forEach(cart -> cartService.deleteProductFromCart(cart.getCartId(), productId));
 
         productRepository.delete(product);
+        productSearchIndex.remove(productId);
+        productCache.evict(product);
         return modelMapper.map(product, ProductDTO.class);
     }
 
@@ -204,8 +293,29 @@ public class ProductServiceImplementation implements ProductService {
 
         String fileName = fileService.uploadImage(path, image);
         productFromDb.setImage(fileName);
-        Product updatedProduct = productRepository.save(productFromDb);
-        return modelMapper.map(updatedProduct, ProductDTO.class);
+        Product updatedProduct = saveUniquelyNamed(productFromDb);
+        ProductDTO updatedProductDTO = modelMapper.map(updatedProduct, ProductDTO.class);
+        productSearchIndex.index(updatedProductDTO);
+        productCache.evict(updatedProduct);
+        return updatedProductDTO;
+    }
+
+    private ProductResponse toProductResponse(Window<ProductView> productWindow, Integer pageSize, String sortBy, String sortOrder) {
+        List<ProductDTO> productDTOS = productWindow.stream()
+                .map(PayloadMappers::toProductDTO)
+                .toList();
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productDTOS);
+        productResponse.setPageSize(pageSize);
+        productResponse.setLastPage(productWindow.isLast());
+        productResponse.setNextCursor(KeysetCursor.next(productWindow, sortBy, sortOrder));
+        return productResponse;
+    }
+
+    private static String pageQuery(Object... parts) {
+        return Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
     }
 
 }
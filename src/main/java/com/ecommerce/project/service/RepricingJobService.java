@@ -0,0 +1,19 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.RepricingJobDTO;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+
+public interface RepricingJobService {
+
+    @Transactional
+    RepricingJobDTO submit(Long productId, double newPrice);
+
+    RepricingJobDTO getJob(Long jobId);
+    List<RepricingJobDTO> getJobsForProduct(Long productId);
+
+    @Transactional
+    RepricingJobDTO retryJob(Long jobId);
+
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.RepricingJob;
+import com.ecommerce.project.model.RepricingJobStatus;
+import com.ecommerce.project.payload.RepricingJobDTO;
+import com.ecommerce.project.repositories.RepricingJobRepository;
+import jakarta.transaction.Transactional;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class RepricingJobServiceImplementation implements RepricingJobService {
+
+    @Autowired
+    private RepricingJobRepository repricingJobRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Override
+    @Transactional
+    public RepricingJobDTO submit(Long productId, double newPrice) {
+        // Only the latest price of a product matters; older jobs stop at their next chunk
+        repricingJobRepository.supersede(productId,
+                List.of(RepricingJobStatus.PENDING, RepricingJobStatus.RUNNING, RepricingJobStatus.FAILED),
+                LocalDateTime.now());
+        RepricingJob job = repricingJobRepository.save(new RepricingJob(productId, newPrice));
+        return modelMapper.map(job, RepricingJobDTO.class);
+    }
+
+    @Override
+    public RepricingJobDTO getJob(Long jobId) {
+        RepricingJob job = repricingJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("RepricingJob", "jobId", jobId));
+        return modelMapper.map(job, RepricingJobDTO.class);
+    }
+
+    @Override
+    public List<RepricingJobDTO> getJobsForProduct(Long productId) {
+        return repricingJobRepository.findByProductIdOrderByJobIdDesc(productId).stream()
+                .map(job -> modelMapper.map(job, RepricingJobDTO.class))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public RepricingJobDTO retryJob(Long jobId) {
+        RepricingJob job = repricingJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("RepricingJob", "jobId", jobId));
+        if (job.getStatus() != RepricingJobStatus.FAILED) {
+            throw new APIException("Only failed repricing jobs can be retried, job " + jobId + " is " + job.getStatus());
+        }
+
+        job.setStatus(RepricingJobStatus.PENDING);
+        job.setErrorMessage(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        return modelMapper.map(repricingJobRepository.save(job), RepricingJobDTO.class);
+    }
+
+}
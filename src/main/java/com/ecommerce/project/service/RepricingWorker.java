@@ -0,0 +1,194 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.RepricingJob;
+import com.ecommerce.project.model.RepricingJobStatus;
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.repositories.RepricingJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drains the repricing_jobs table. Each job reprices the carts of its product a chunk at a
+ * time, every chunk in its own transaction together with the job's progress, so a restarted
+ * or retried job simply continues with the carts that still carry another price.
+ * <p>
+ * The updatedAt of a running job is its heartbeat, refreshed with every chunk. Only jobs whose
+ * heartbeat is older than the claim timeout are queued again, so jobs still being worked on by
+ * another instance, e.g. during a rolling deploy, are left alone. A worker that finds the
+ * heartbeat changed by someone else stops, leaving the job to whoever reclaimed it.
+ */
+@Component
+public class RepricingWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepricingWorker.class);
+
+    @Autowired
+    private RepricingJobRepository repricingJobRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SimpleAsyncTaskExecutorBuilder taskExecutorBuilder;
+
+    @Value("${project.cart.repricing.workerEnabled:true}")
+    private boolean enabled;
+
+    @Value("${project.cart.repricing.workers:2}")
+    private int workers;
+
+    @Value("${project.cart.repricingChunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${project.cart.repricing.claimTimeoutSeconds:300}")
+    private long claimTimeoutSeconds;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private SimpleAsyncTaskExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        // Platform or virtual threads as configured by spring.threads.virtual.enabled
+        executor = taskExecutorBuilder
+                .threadNamePrefix("cart-repricing-")
+                .concurrencyLimit(workers)
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+
+    @Scheduled(fixedDelayString = "${project.cart.repricing.reclaimMs:60000}")
+    public void reclaimStaleJobs() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = now();
+        Integer reclaimed = transactionTemplate.execute(status -> repricingJobRepository.transitionStale(
+                RepricingJobStatus.RUNNING, RepricingJobStatus.PENDING, now.minus(Duration.ofSeconds(claimTimeoutSeconds)), now));
+        if (reclaimed != null && reclaimed > 0) {
+            logger.info("Resuming {} abandoned repricing job(s)", reclaimed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${project.cart.repricing.pollMs:1000}")
+    public void poll() {
+        int free = workers - inFlight.size();
+        if (!enabled || free <= 0) {
+            return;
+        }
+        List<RepricingJob> pending = repricingJobRepository.findByStatusOrderByJobIdAsc(RepricingJobStatus.PENDING, Limit.of(free));
+        for (RepricingJob job : pending) {
+            if (inFlight.add(job.getJobId())) {
+                executor.execute(() -> {
+                    try {
+                        runJob(job.getJobId());
+                    } finally {
+                        inFlight.remove(job.getJobId());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Claims a pending job and runs it to completion on the calling thread.
+     *
+     * @return false if the job was not pending, e.g. because another worker claimed it
+     */
+    public boolean runJob(Long jobId) {
+        LocalDateTime claimedAt = now();
+        Integer claimed = transactionTemplate.execute(status -> repricingJobRepository.transition(
+                jobId, RepricingJobStatus.PENDING, RepricingJobStatus.RUNNING, claimedAt));
+        if (claimed == null || claimed == 0) {
+            return false;
+        }
+
+        try {
+            LocalDateTime heartbeat = transactionTemplate.execute(status -> {
+                RepricingJob job = repricingJobRepository.findByIdForUpdate(jobId).orElseThrow();
+                if (!isOwned(job, claimedAt)) {
+                    return null;
+                }
+                job.setTotalCarts(job.getRepricedCarts() + cartItemRepository.countCartsToReprice(job.getProductId(), job.getNewPrice()));
+                job.setUpdatedAt(now());
+                return job.getUpdatedAt();
+            });
+            while (heartbeat != null) {
+                LocalDateTime lastHeartbeat = heartbeat;
+                heartbeat = transactionTemplate.execute(status -> repriceNextChunk(jobId, lastHeartbeat));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Repricing job {} failed", jobId, e);
+            transactionTemplate.executeWithoutResult(status -> repricingJobRepository.findById(jobId).ifPresent(job -> {
+                if (job.getStatus() == RepricingJobStatus.RUNNING) {
+                    job.setStatus(RepricingJobStatus.FAILED);
+                    job.setErrorMessage(e.getMessage());
+                    job.setUpdatedAt(LocalDateTime.now());
+                }
+            }));
+        }
+        return true;
+    }
+
+    /**
+     * @return the job's new heartbeat, or null once the job is done or no longer ours
+     */
+    private LocalDateTime repriceNextChunk(Long jobId, LocalDateTime heartbeat) {
+        // The row lock keeps a superseding submit from interleaving with a chunk of this job
+        RepricingJob job = repricingJobRepository.findByIdForUpdate(jobId).orElseThrow();
+        if (!isOwned(job, heartbeat)) {
+            return null;
+        }
+
+        int repriced = cartService.repriceNextCarts(job.getProductId(), job.getNewPrice(), chunkSize);
+        job = repricingJobRepository.findById(jobId).orElseThrow();
+        job.setRepricedCarts(job.getRepricedCarts() + repriced);
+        job.setUpdatedAt(now());
+        if (repriced < chunkSize) {
+            job.setStatus(RepricingJobStatus.COMPLETED);
+            job.setTotalCarts(Math.max(job.getTotalCarts(), job.getRepricedCarts()));
+            return null;
+        }
+        return job.getUpdatedAt();
+    }
+
+    // Running, and nobody else has touched it since our last heartbeat
+    private static boolean isOwned(RepricingJob job, LocalDateTime heartbeat) {
+        return job.getStatus() == RepricingJobStatus.RUNNING && heartbeat.equals(job.getUpdatedAt());
+    }
+
+    // Truncated so the value survives the round trip through the timestamp column unchanged
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+}
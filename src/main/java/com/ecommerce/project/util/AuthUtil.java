@@ -2,38 +2,58 @@ package com.ecommerce.project.util;
 
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsImplementation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class AuthUtil {
 
+    private static final String LOGGED_IN_USER_ATTRIBUTE = AuthUtil.class.getName() + ".loggedInUser";
+
     @Autowired
     UserRepository userRepository;
 
     public String loggedInEmail() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        return user.getEmail();
+        if (authentication.getPrincipal() instanceof UserDetailsImplementation userDetails) {
+            return userDetails.getEmail();
+        }
+        return loggedInUser().getEmail();
     }
 
     public Long loggedInUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
-        return user.getUserId();
+        if (authentication.getPrincipal() instanceof UserDetailsImplementation userDetails) {
+            return userDetails.getId();
+        }
+        return loggedInUser().getUserId();
     }
 
+    /**
+     * Looks the user up once per request; later calls from controllers and services
+     * reuse the entity stored in the request attributes.
+     */
     public User loggedInUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByUserName(authentication.getName())
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(LOGGED_IN_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user
+                && user.getUserName().equals(authentication.getName())) {
+            return user;
+        }
+
+        User user = userRepository.findByUserName(authentication.getName())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(LOGGED_IN_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
     }
 
 }
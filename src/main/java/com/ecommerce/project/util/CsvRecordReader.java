@@ -0,0 +1,62 @@
+package com.ecommerce.project.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: comma separated, fields optionally quoted, quotes
+ * inside quoted fields doubled, and line breaks allowed within quoted fields.
+ */
+public class CsvRecordReader {
+
+    private final Reader reader;
+    private int next;
+
+    public CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        this.next = reader.read();
+    }
+
+    /**
+     * Returns the fields of the next record, or null at the end of the input.
+     */
+    public List<String> readRecord() throws IOException {
+        if (next == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = next;
+            next = reader.read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                } else if (c == '"' && next == '"') {
+                    field.append('"');
+                    next = reader.read();
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' && next == '\n') {
+                // the \n ends the record on the next pass
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+}
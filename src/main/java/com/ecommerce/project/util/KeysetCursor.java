@@ -0,0 +1,100 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Encodes keyset scroll positions as opaque "after" tokens. A token carries the sort it was
+ * issued for, so it can only continue the same ordering.
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Rejects a sort property the scroll endpoints cannot continue from. A cursor holds the
+     * sort key of the last row, and a null key could not be continued, so only columns that
+     * are never null may be scrolled by.
+     */
+    public static void requireSortable(String sortBy, Set<String> nonNullProperties) {
+        if (!nonNullProperties.contains(sortBy)) {
+            throw new APIException("Cannot scroll sorted by " + sortBy + ", sort by one of " + new TreeSet<>(nonNullProperties));
+        }
+    }
+
+    public static String next(Window<?> window, String sortBy, String sortOrder) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        ScrollPosition position = window.positionAt(window.size() - 1);
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalStateException("Window was not scrolled by keyset");
+        }
+        return encode(keysetPosition, sortBy, sortOrder);
+    }
+
+    public static String encode(KeysetScrollPosition position, String sortBy, String sortOrder) {
+        Token token = new Token(sortBy, sortOrder.toLowerCase(), new LinkedHashMap<>(position.getKeys()));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(token));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    public static KeysetScrollPosition decode(String after, Class<?> type, String sortBy, String sortOrder) {
+        if (after == null || after.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Token token;
+        try {
+            token = MAPPER.readValue(Base64.getUrlDecoder().decode(after.getBytes(StandardCharsets.US_ASCII)), Token.class);
+        } catch (Exception e) {
+            throw new APIException("Invalid cursor");
+        }
+
+        if (token.keys() == null || !sortBy.equals(token.sortBy()) || !sortOrder.equalsIgnoreCase(token.sortOrder())) {
+            throw new APIException("Cursor does not match the requested sort order");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        token.keys().forEach((property, value) -> {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+            if (descriptor == null || value == null) {
+                throw new APIException("Invalid cursor");
+            }
+            try {
+                keys.put(property, MAPPER.convertValue(value, descriptor.getPropertyType()));
+            } catch (IllegalArgumentException e) {
+                throw new APIException("Invalid cursor");
+            }
+        });
+        return ScrollPosition.forward(keys);
+    }
+
+    private record Token(String sortBy, String sortOrder, Map<String, Object> keys) {
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.*;
+import com.ecommerce.project.repositories.CartItemView;
+import com.ecommerce.project.repositories.OrderDetailsView;
+import com.ecommerce.project.repositories.OrderItemView;
+import com.ecommerce.project.repositories.OrderView;
+import com.ecommerce.project.repositories.ProductView;
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.spi.MappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Hand-written entity/payload mappers. Registered on the ModelMapper as type map converters,
+ * they replace per-call property matching and reflective access with plain getter/setter calls
+ * while services keep calling {@code modelMapper.map(...)}.
+ */
+public final class PayloadMappers {
+
+    private PayloadMappers() {
+    }
+
+    public static void register(ModelMapper modelMapper) {
+        modelMapper.addConverter(converter(ProductDTO::new, PayloadMappers::copy), Product.class, ProductDTO.class);
+        modelMapper.addConverter(converter(Product::new, PayloadMappers::copy), ProductDTO.class, Product.class);
+        modelMapper.addConverter(converter(CategoryDTO::new, PayloadMappers::copy), Category.class, CategoryDTO.class);
+        modelMapper.addConverter(converter(Category::new, PayloadMappers::copy), CategoryDTO.class, Category.class);
+        modelMapper.addConverter(converter(AddressDTO::new, PayloadMappers::copy), Address.class, AddressDTO.class);
+        modelMapper.addConverter(converter(Address::new, PayloadMappers::copy), AddressDTO.class, Address.class);
+        modelMapper.addConverter(converter(CartDTO::new, PayloadMappers::copy), Cart.class, CartDTO.class);
+        modelMapper.addConverter(converter(OrderDTO::new, PayloadMappers::copy), Order.class, OrderDTO.class);
+        modelMapper.addConverter(converter(OrderItemDTO::new, PayloadMappers::copy), OrderItem.class, OrderItemDTO.class);
+        modelMapper.addConverter(converter(PaymentDTO::new, PayloadMappers::copy), Payment.class, PaymentDTO.class);
+    }
+
+    public static ProductDTO toProductDTO(Product product) {
+        if (product == null) {
+            return null;
+        }
+        ProductDTO productDTO = new ProductDTO();
+        copy(product, productDTO);
+        return productDTO;
+    }
+
+    public static ProductDTO toProductDTO(ProductView product) {
+        if (product == null) {
+            return null;
+        }
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(product.getProductId());
+        productDTO.setProductName(product.getProductName());
+        productDTO.setImage(product.getImage());
+        productDTO.setDescription(product.getDescription());
+        productDTO.setQuantity(product.getQuantity());
+        productDTO.setPrice(product.getPrice());
+        productDTO.setDiscount(product.getDiscount());
+        productDTO.setSpecialPrice(product.getSpecialPrice());
+        return productDTO;
+    }
+
+    public static OrderItemDTO toOrderItemDTO(OrderItem orderItem) {
+        if (orderItem == null) {
+            return null;
+        }
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        copy(orderItem, orderItemDTO);
+        return orderItemDTO;
+    }
+
+    /**
+     * Maps a cart item the way carts are shown: the product with the quantity held in the cart.
+     */
+    public static ProductDTO toCartProductDTO(CartItemView cartItem) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(cartItem.getProductId());
+        productDTO.setProductName(cartItem.getProductName());
+        productDTO.setImage(cartItem.getImage());
+        productDTO.setDescription(cartItem.getDescription());
+        productDTO.setQuantity(cartItem.getQuantity());
+        productDTO.setPrice(cartItem.getPrice());
+        productDTO.setDiscount(cartItem.getDiscount());
+        productDTO.setSpecialPrice(cartItem.getSpecialPrice());
+        return productDTO;
+    }
+
+    public static OrderItemDTO toOrderItemDTO(OrderItemView orderItem) {
+        if (orderItem == null) {
+            return null;
+        }
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(orderItem.getProductId());
+        productDTO.setProductName(orderItem.getProductName());
+        productDTO.setImage(orderItem.getImage());
+        productDTO.setDescription(orderItem.getDescription());
+        productDTO.setQuantity(orderItem.getProductQuantity());
+        productDTO.setPrice(orderItem.getPrice());
+        productDTO.setDiscount(orderItem.getProductDiscount());
+        productDTO.setSpecialPrice(orderItem.getSpecialPrice());
+
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setOrderItemId(orderItem.getOrderItemId());
+        orderItemDTO.setProduct(productDTO);
+        orderItemDTO.setQuantity(orderItem.getQuantity());
+        orderItemDTO.setDiscount(orderItem.getDiscount());
+        orderItemDTO.setOrderedProductPrice(orderItem.getOrderedProductPrice());
+        return orderItemDTO;
+    }
+
+    public static OrderDTO toOrderDTO(OrderView order, OrderDetailsView details, List<OrderItemDTO> orderItems) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setOrderId(order.getOrderId());
+        orderDTO.setEmail(order.getEmail());
+        orderDTO.setOrderItems(orderItems);
+        orderDTO.setOrderDate(order.getOrderDate());
+        orderDTO.setTotalAmount(order.getTotalAmount());
+        orderDTO.setOrderStatus(order.getOrderStatus());
+        if (details != null) {
+            orderDTO.setAddressId(details.getAddressId());
+            if (details.getPaymentId() != null) {
+                orderDTO.setPayment(new PaymentDTO(details.getPaymentId(), details.getPaymentMethod(), details.getPgPaymentId(),
+                        details.getPgStatus(), details.getPgResponseMessage(), details.getPgName()));
+            }
+        }
+        return orderDTO;
+    }
+
+    public static PaymentDTO toPaymentDTO(Payment payment) {
+        if (payment == null) {
+            return null;
+        }
+        PaymentDTO paymentDTO = new PaymentDTO();
+        copy(payment, paymentDTO);
+        return paymentDTO;
+    }
+
+    static void copy(Product source, ProductDTO target) {
+        target.setProductId(source.getProductId());
+        target.setProductName(source.getProductName());
+        target.setImage(source.getImage());
+        target.setDescription(source.getDescription());
+        target.setQuantity(source.getQuantity());
+        target.setPrice(source.getPrice());
+        target.setDiscount(source.getDiscount());
+        target.setSpecialPrice(source.getSpecialPrice());
+    }
+
+    static void copy(ProductDTO source, Product target) {
+        target.setProductId(source.getProductId());
+        target.setProductName(source.getProductName());
+        target.setImage(source.getImage());
+        target.setDescription(source.getDescription());
+        target.setQuantity(source.getQuantity());
+        target.setPrice(source.getPrice());
+        target.setDiscount(source.getDiscount());
+        target.setSpecialPrice(source.getSpecialPrice());
+    }
+
+    static void copy(Category source, CategoryDTO target) {
+        target.setCategoryId(source.getCategoryId());
+        target.setCategoryName(source.getCategoryName());
+    }
+
+    static void copy(CategoryDTO source, Category target) {
+        target.setCategoryId(source.getCategoryId());
+        target.setCategoryName(source.getCategoryName());
+    }
+
+    static void copy(Address source, AddressDTO target) {
+        target.setAddressId(source.getAddressId());
+        target.setStreet(source.getStreet());
+        target.setBuildingName(source.getBuildingName());
+        target.setCity(source.getCity());
+        target.setState(source.getState());
+        target.setCountry(source.getCountry());
+        target.setZipcode(source.getZipcode());
+    }
+
+    static void copy(AddressDTO source, Address target) {
+        target.setAddressId(source.getAddressId());
+        target.setStreet(source.getStreet());
+        target.setBuildingName(source.getBuildingName());
+        target.setCity(source.getCity());
+        target.setState(source.getState());
+        target.setCountry(source.getCountry());
+        target.setZipcode(source.getZipcode());
+    }
+
+    static void copy(Cart source, CartDTO target) {
+        target.setCartId(source.getCartId());
+        target.setTotalPrice(source.getTotalPrice());
+    }
+
+    static void copy(Order source, OrderDTO target) {
+        target.setOrderId(source.getOrderId());
+        target.setEmail(source.getEmail());
+        target.setOrderItems(source.getOrderItems() == null ? null : toList(source.getOrderItems()));
+        target.setOrderDate(source.getOrderDate());
+        target.setPayment(toPaymentDTO(source.getPayment()));
+        target.setTotalAmount(source.getTotalAmount());
+        target.setOrderStatus(source.getOrderStatus());
+        target.setAddressId(source.getAddress() == null ? null : source.getAddress().getAddressId());
+    }
+
+    static void copy(OrderItem source, OrderItemDTO target) {
+        target.setOrderItemId(source.getOrderItemId());
+        target.setProduct(toProductDTO(source.getProduct()));
+        target.setQuantity(source.getQuantity());
+        target.setDiscount(source.getDiscount());
+        target.setOrderedProductPrice(source.getOrderedProductPrice());
+    }
+
+    static void copy(Payment source, PaymentDTO target) {
+        target.setPaymentId(source.getPaymentId());
+        target.setPaymentMethod(source.getPaymentMethod());
+        target.setPgPaymentId(source.getPgPaymentId());
+        target.setPgStatus(source.getPgStatus());
+        target.setPgResponseMessage(source.getPgResponseMessage());
+        target.setPgName(source.getPgName());
+    }
+
+    private static List<OrderItemDTO> toList(List<OrderItem> orderItems) {
+        List<OrderItemDTO> orderItemDTOS = new ArrayList<>(orderItems.size());
+        for (OrderItem orderItem : orderItems) {
+            orderItemDTOS.add(toOrderItemDTO(orderItem));
+        }
+        return orderItemDTOS;
+    }
+
+    private static <S, D> Converter<S, D> converter(Supplier<D> factory, BiConsumer<S, D> copier) {
+        return (MappingContext<S, D> context) -> {
+            if (context.getSource() == null) {
+                return null;
+            }
+            D destination = context.getDestination() != null ? context.getDestination() : factory.get();
+            copier.accept(context.getSource(), destination);
+            return destination;
+        };
+    }
+
+}
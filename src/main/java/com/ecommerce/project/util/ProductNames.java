@@ -0,0 +1,56 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.model.Product;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Objects;
+
+public final class ProductNames {
+
+    private ProductNames() {
+    }
+
+    /**
+     * Key under which two product names of a category count as the same product:
+     * surrounding whitespace is ignored, and so is letter case. This is the only
+     * definition of the key; existing rows are backfilled through it as well, since SQL
+     * TRIM and LOWER treat whitespace and case differently.
+     */
+    public static String normalize(String productName) {
+        if (productName == null) {
+            return null;
+        }
+        return productName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key stored instead for a product whose name already clashed with another product of
+     * its category before names were checked. It is kept while the plain key is taken.
+     */
+    public static String clashKey(String normalizedName, Long productId) {
+        return normalizedName + "#" + productId;
+    }
+
+    /**
+     * Whether the stored key belongs to the product name, either plainly or as the product's
+     * clash key.
+     */
+    public static boolean isKeyOf(String storedKey, String productName, Long productId) {
+        String normalizedName = normalize(productName);
+        return Objects.equals(storedKey, normalizedName)
+                || storedKey != null && storedKey.equals(clashKey(normalizedName, productId));
+    }
+
+    /**
+     * Whether a failed insert or update collided with another product of the same
+     * normalized name in the category.
+     */
+    public static boolean isDuplicateName(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Product.NAME_CONSTRAINT);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsImplementation;
+import com.ecommerce.project.util.AuthUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthUtilTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private AuthUtil authUtil;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("user1", "user1@example.com", "password");
+        user.setUserId(7L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loggedInEmailAndUserId_shouldComeFromPrincipal_withoutQuery() {
+        UserDetailsImplementation principal = new UserDetailsImplementation(7L, "user1", "user1@example.com", "password", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+
+        assertEquals("user1@example.com", authUtil.loggedInEmail());
+        assertEquals(7L, authUtil.loggedInUserId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void loggedInUser_shouldQueryOncePerRequest() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user1", null, List.of()));
+        when(userRepository.findByUserName("user1")).thenReturn(Optional.of(user));
+
+        assertSame(user, authUtil.loggedInUser());
+        assertEquals("user1@example.com", authUtil.loggedInEmail());
+        assertEquals(7L, authUtil.loggedInUserId());
+
+        verify(userRepository, times(1)).findByUserName("user1");
+    }
+
+    @Test
+    void loggedInUser_shouldQueryAgain_inNextRequest() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user1", null, List.of()));
+        when(userRepository.findByUserName("user1")).thenReturn(Optional.of(user));
+
+        authUtil.loggedInUser();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authUtil.loggedInUser();
+
+        verify(userRepository, times(2)).findByUserName("user1");
+    }
+
+}
@@ -6,10 +6,12 @@ import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.ProductRepository;
 import com.ecommerce.project.service.CartServiceImplementation;
+import com.ecommerce.project.service.ProductCache;
 import com.ecommerce.project.util.AuthUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,6 +46,9 @@ public class CartServiceImplementationTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ProductCache productCache;
+
     @InjectMocks
     private CartServiceImplementation cartService;
 
@@ -79,7 +84,7 @@ public class CartServiceImplementationTest {
         when(authUtil.loggedInEmail()).thenReturn("test@example.com");
         when(cartRepository.findCartByEmail("test@example.com")).thenReturn(cart);
 
-        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productCache.getProduct(101L)).thenReturn(snapshotOf(product));
 
         when(cartItemRepository.findCartItemByProductIdAndCartId(101L, 1L)).thenReturn(null);
 
@@ -100,7 +105,7 @@ public class CartServiceImplementationTest {
         when(authUtil.loggedInEmail()).thenReturn("test@example.com");
         when(cartRepository.findCartByEmail("test@example.com")).thenReturn(cart);
 
-        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productCache.getProduct(101L)).thenReturn(snapshotOf(product));
 
         when(cartItemRepository.findCartItemByProductIdAndCartId(101L, 1L)).thenReturn(new CartItem());
 
@@ -122,7 +127,7 @@ public class CartServiceImplementationTest {
 
         when(cartRepository.save(any(Cart.class))).thenReturn(cart);
 
-        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productCache.getProduct(101L)).thenReturn(snapshotOf(product));
         when(cartItemRepository.findCartItemByProductIdAndCartId(anyLong(), anyLong())).thenReturn(null);
         when(modelMapper.map(any(Cart.class), eq(CartDTO.class))).thenReturn(cartDTO);
 
@@ -137,7 +142,7 @@ public class CartServiceImplementationTest {
         product.setQuantity(0);
         when(authUtil.loggedInEmail()).thenReturn("test@example.com");
         when(cartRepository.findCartByEmail("test@example.com")).thenReturn(cart);
-        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productCache.getProduct(101L)).thenReturn(snapshotOf(product));
 
         assertThrows(APIException.class, () -> {
             cartService.addProductToCart(101L, 1);
@@ -149,7 +154,7 @@ public class CartServiceImplementationTest {
         product.setQuantity(5);
         when(authUtil.loggedInEmail()).thenReturn("test@example.com");
         when(cartRepository.findCartByEmail("test@example.com")).thenReturn(cart);
-        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productCache.getProduct(101L)).thenReturn(snapshotOf(product));
 
         assertThrows(APIException.class, () -> {
             cartService.addProductToCart(101L, 6);
@@ -174,6 +179,15 @@ public class CartServiceImplementationTest {
         assertTrue(result.contains("removed from the cart"));
     }
 
+    @Test
+    void clearCart_shouldDeleteAllItemsAndResetTotal_inBulk() {
+        cartService.clearCart(1L);
+
+        verify(cartItemRepository, times(1)).deleteAllByCartId(1L);
+        verify(cartRepository, times(1)).resetTotalPrice(1L);
+        verify(cartItemRepository, never()).deleteCartItemByProductIdAndCartId(anyLong(), anyLong());
+    }
+
     @Test
     void updateProductQuantityInCart_shouldUpdateQuantityAndPrice() {
         int quantityChange = 3;
@@ -187,7 +201,7 @@ public class CartServiceImplementationTest {
         when(authUtil.loggedInEmail()).thenReturn("test@example.com");
         when(cartRepository.findCartByEmail("test@example.com")).thenReturn(cart);
         when(cartRepository.findById(1L)).thenReturn(Optional.of(cart));
-        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productCache.getProduct(101L)).thenReturn(snapshotOf(product));
         when(cartItemRepository.findCartItemByProductIdAndCartId(101L, 1L)).thenReturn(existingItem);
         when(cartItemRepository.save(any(CartItem.class))).thenReturn(existingItem);
         when(modelMapper.map(any(Cart.class), eq(CartDTO.class))).thenReturn(cartDTO);
@@ -199,4 +213,10 @@ public class CartServiceImplementationTest {
         assertEquals(500.0, cart.getTotalPrice());
     }
 
+    private static ProductDTO snapshotOf(Product product) {
+        return new ProductDTO(product.getProductId(), product.getProductName(), product.getImage(),
+                product.getDescription(), product.getQuantity(), product.getPrice(),
+                product.getDiscount(), product.getSpecialPrice());
+    }
+
 }
@@ -2,9 +2,14 @@ package com.ecommerce.project;
 
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.CartResponse;
+import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.service.CartExportService;
 import com.ecommerce.project.service.CartService;
 import com.ecommerce.project.util.AuthUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +17,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -41,6 +50,15 @@ public class CartServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CartExportService cartExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @MockitoBean
     private AuthUtil authUtil;
 
@@ -91,4 +109,133 @@ public class CartServiceIntegrationTest {
         assertEquals(2, cartItem.getQuantity());
         assertEquals(product.getProductId(), cartItem.getProduct().getProductId());
     }
+    @Test
+    void testRepriceProductInCarts_shouldAdjustItemsAndTotalsInChunks() {
+        ReflectionTestUtils.setField(cartService, "repricingChunkSize", 2);
+        Product mouse = new Product();
+        mouse.setProductName("Mouse");
+        mouse.setDescription("A wireless mouse");
+        mouse.setPrice(50.0);
+        mouse.setSpecialPrice(50.0);
+        mouse.setQuantity(50);
+        mouse.setCategory(product.getCategory());
+        productRepository.save(mouse);
+
+        List<Long> cartIds = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            User shopper = userRepository.save(new User("shopper" + i, "shopper" + i + "@example.com", "password"));
+            Cart cart = new Cart();
+            cart.setUser(shopper);
+            cart.getCartItems().add(new CartItem(null, cart, product, i, 10.0, 1800.0));
+            cart.getCartItems().add(new CartItem(null, cart, mouse, 1, 0.0, 50.0));
+            cart.setTotalPrice(1800.0 * i + 50.0);
+            cartIds.add(cartRepository.save(cart).getCartId());
+        }
+
+        int repriced = cartService.repriceProductInCarts(product.getProductId(), 1500.0);
+
+        assertEquals(5, repriced);
+        for (int i = 1; i <= 5; i++) {
+            Cart cart = cartRepository.findById(cartIds.get(i - 1)).orElseThrow();
+            assertEquals(1500.0 * i + 50.0, cart.getTotalPrice(), 0.001);
+            assertEquals(1500.0, cartItemRepository.findCartItemByProductIdAndCartId(product.getProductId(), cart.getCartId()).getProductPrice());
+            assertEquals(50.0, cartItemRepository.findCartItemByProductIdAndCartId(mouse.getProductId(), cart.getCartId()).getProductPrice());
+        }
+        assertEquals(0, cartService.repriceProductInCarts(product.getProductId(), 1500.0));
+        ReflectionTestUtils.setField(cartService, "repricingChunkSize", 1000);
+    }
+
+    @Test
+    void getAllCarts_shouldPageThroughCarts_withCursor() {
+        createCarts(3);
+        entityManager.flush();
+        entityManager.clear();
+
+        CartResponse firstPage = cartService.getAllCarts(null, 2);
+        CartResponse lastPage = cartService.getAllCarts(firstPage.getNextCursor(), 2);
+
+        assertEquals(2, firstPage.getContent().size());
+        assertFalse(firstPage.isLastPage());
+        assertEquals(1, lastPage.getContent().size());
+        assertTrue(lastPage.isLastPage());
+        assertNull(lastPage.getNextCursor());
+        assertTrue(firstPage.getContent().get(1).getCartId() < lastPage.getContent().getFirst().getCartId());
+
+        CartDTO cart = lastPage.getContent().getFirst();
+        assertEquals(1800.0 * 3 + 50.0, cart.getTotalPrice());
+        assertEquals(List.of("Test Laptop", "Mouse"), cart.getProducts().stream().map(ProductDTO::getProductName).toList());
+        assertEquals(3, cart.getProducts().getFirst().getQuantity());
+    }
+
+    @Test
+    void getAllCarts_shouldIssuePinnedNumberOfStatements() {
+        createCarts(3);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatements.reset();
+
+        CartResponse carts = cartService.getAllCarts(null, 50);
+
+        assertEquals(3, carts.getContent().size());
+        // The carts, then the items of the page: independent of the number of carts
+        SqlStatements.assertStatements(2, 0, 0, 0);
+    }
+
+    @Test
+    void exportCarts_shouldStreamOneCartPerLine_includingEmptyCarts() throws Exception {
+        createCarts(2);
+        Cart emptyCart = new Cart();
+        emptyCart.setUser(userRepository.save(new User("idle", "idle@example.com", "password")));
+        cartRepository.save(emptyCart);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatements.reset();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        cartExportService.exportCarts().writeTo(outputStream);
+
+        List<CartDTO> carts = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            carts.add(objectMapper.readValue(line, CartDTO.class));
+        }
+        assertEquals(3, carts.size());
+        assertEquals(List.of(2, 2, 0), carts.stream().map(cart -> cart.getProducts().size()).toList());
+        assertEquals(2, carts.get(1).getProducts().getFirst().getQuantity());
+        SqlStatements.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void getCart_shouldIssuePinnedNumberOfStatements() {
+        createCarts(1);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatements.reset();
+
+        CartDTO cart = cartService.getCart("shopper1@example.com", null);
+
+        assertEquals(2, cart.getProducts().size());
+        SqlStatements.assertStatements(3, 0, 0, 0);
+    }
+
+    private void createCarts(int count) {
+        Product mouse = new Product();
+        mouse.setProductName("Mouse");
+        mouse.setDescription("A wireless mouse");
+        mouse.setPrice(50.0);
+        mouse.setSpecialPrice(50.0);
+        mouse.setQuantity(50);
+        mouse.setCategory(product.getCategory());
+        productRepository.save(mouse);
+
+        for (int i = 1; i <= count; i++) {
+            User shopper = userRepository.save(new User("shopper" + i, "shopper" + i + "@example.com", "password"));
+            Cart cart = new Cart();
+            cart.setUser(shopper);
+            cart.getCartItems().add(new CartItem(null, cart, product, i, 10.0, 1800.0));
+            cart.getCartItems().add(new CartItem(null, cart, mouse, 1, 0.0, 50.0));
+            cart.setTotalPrice(1800.0 * i + 50.0);
+            cartRepository.save(cart);
+        }
+    }
+
 }
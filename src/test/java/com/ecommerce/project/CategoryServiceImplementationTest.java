@@ -7,6 +7,12 @@ import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.service.CategoryServiceImplementation;
+import com.ecommerce.project.service.ProductCache;
+import com.ecommerce.project.service.ProductSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,9 +36,30 @@ public class CategoryServiceImplementationTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
     @InjectMocks
     private CategoryServiceImplementation categoryService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+    }
+
     @Test
     void getAllCategories_shouldReturnPagedCategories_whenCategoriesExist() {
         Integer pageNumber = 0;
@@ -92,6 +119,7 @@ public class CategoryServiceImplementationTest {
         CategoryDTO createdCategoryDTO = categoryService.createCategory(categoryDTO);
 
         verify(categoryRepository, times(1)).save(category);
+        verify(secondLevelCache).evictDefaultQueryRegion();
         assertEquals(categoryDTO, createdCategoryDTO);
     }
 
@@ -124,6 +152,8 @@ public class CategoryServiceImplementationTest {
         CategoryDTO deletedCategoryDTO = categoryService.deleteCategory(categoryId);
 
         verify(categoryRepository, times(1)).delete(category);
+        verify(productCache, times(1)).evictAll();
+        verify(secondLevelCache).evictEntityData(Category.class, categoryId);
         assertNotNull(deletedCategoryDTO);
     }
 
@@ -160,6 +190,8 @@ public class CategoryServiceImplementationTest {
         CategoryDTO savedCategoryDTO = categoryService.updateCategory(categoryDTO, categoryId);
 
         verify(categoryRepository, times(1)).save(categoryBeforeUpdate);
+        verify(secondLevelCache).evictEntityData(Category.class, categoryId);
+        verify(secondLevelCache).evictDefaultQueryRegion();
         assertEquals("New Name", savedCategoryDTO.getCategoryName());
     }
 
@@ -2,6 +2,7 @@ package com.ecommerce.project;
 
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.service.CategoryService;
 import jakarta.transaction.Transactional;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,4 +42,20 @@ public class CategoryServiceIntegrationTest {
         assertEquals("Integration Test Category", foundCategory.get().getCategoryName());
     }
 
+    @Test
+    void testScrollCategories_shouldContinueFromCursor() {
+        for (String name : List.of("Books", "Garden", "Kitchen")) {
+            categoryRepository.save(new Category(null, name, null));
+        }
+
+        CategoryResponse firstPage = categoryService.scrollCategories(null, 2, "categoryName", "asc");
+        CategoryResponse secondPage = categoryService.scrollCategories(firstPage.getNextCursor(), 2, "categoryName", "asc");
+
+        assertEquals(List.of("Books", "Garden"), firstPage.getContent().stream().map(CategoryDTO::getCategoryName).toList());
+        assertFalse(firstPage.isLastPage());
+        assertEquals(List.of("Kitchen"), secondPage.getContent().stream().map(CategoryDTO::getCategoryName).toList());
+        assertTrue(secondPage.isLastPage());
+        assertNull(secondPage.getNextCursor());
+    }
+
 }
@@ -0,0 +1,73 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.config.ConcurrencyLimitFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+
+    @Test
+    void limit_shouldDeriveFromConnectionPoolSize() throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setMaximumPoolSize(7);
+
+            ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(dataSource, 0, 3, 100);
+
+            assertEquals(21, filter.availablePermits());
+        }
+    }
+
+    @Test
+    void doFilter_shouldRejectWith503_whenAllPermitsAreHeld() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new HikariDataSource(), 1, 2, 50);
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            inside.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            Future<?> running = executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest(), first, blockingChain);
+                return null;
+            });
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), rejected, new MockFilterChain());
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            assertEquals(200, first.getStatus());
+            assertEquals(1, filter.availablePermits());
+
+            MockHttpServletResponse admitted = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), admitted, new MockFilterChain());
+            assertEquals(200, admitted.getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
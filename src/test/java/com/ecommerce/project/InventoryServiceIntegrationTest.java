@@ -0,0 +1,159 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.InventoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class InventoryServiceIntegrationTest {
+
+    private static final int CHECKOUTS = 2000;
+    private static final int THREADS = 32;
+    private static final int STOCK = 300;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+    private Category category;
+    private Product book;
+    private Product pen;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        category = new Category();
+        category.setCategoryName("Stationery");
+        category.setProducts(new ArrayList<>());
+        category = categoryRepository.save(category);
+
+        book = productRepository.save(newProduct("Notebook", STOCK));
+        pen = productRepository.save(newProduct("Fountain pen", STOCK));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllById(List.of(book.getProductId(), pen.getProductId()));
+        categoryRepository.deleteById(category.getCategoryId());
+    }
+
+    @Test
+    void reserve_shouldNeverOversell_underConcurrentCheckouts() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> checkouts = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            checkouts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            inventoryService.reserve(Map.of(book.getProductId(), 1, pen.getProductId(), 1)));
+                    accepted.incrementAndGet();
+                } catch (APIException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> checkout : checkouts) {
+            checkout.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK, accepted.get());
+        assertEquals(CHECKOUTS - STOCK, rejected.get());
+        assertEquals(0, productRepository.findQuantityByProductId(book.getProductId()));
+        assertEquals(0, productRepository.findQuantityByProductId(pen.getProductId()));
+    }
+
+    @Test
+    void reserve_shouldRollBackEarlierLines_whenLaterLineIsOutOfStock() {
+        Product scarce = productRepository.save(newProduct("Ink cartridge", 1));
+        try {
+            assertThrows(APIException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                    inventoryService.reserve(Map.of(book.getProductId(), 5, scarce.getProductId(), 2))));
+
+            assertEquals(STOCK, productRepository.findQuantityByProductId(book.getProductId()));
+            assertEquals(1, productRepository.findQuantityByProductId(scarce.getProductId()));
+        } finally {
+            productRepository.deleteById(scarce.getProductId());
+        }
+    }
+
+    @Test
+    void reserve_shouldReturnRemainingStock() {
+        Map<Long, Integer> remaining = transactionTemplate.execute(status ->
+                inventoryService.reserve(Map.of(book.getProductId(), 3)));
+
+        assertEquals(Map.of(book.getProductId(), STOCK - 3), remaining);
+    }
+
+    @Test
+    void reserve_shouldReject_whenDriverDoesNotReportUpdatedRows() {
+        doReturn(new int[][]{{Statement.SUCCESS_NO_INFO}})
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any());
+
+        assertThrows(APIException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                inventoryService.reserve(Map.of(book.getProductId(), 1))));
+    }
+
+    @Test
+    void reserve_shouldRequireSurroundingTransaction() {
+        assertThrows(RuntimeException.class, () -> inventoryService.reserve(Map.of(book.getProductId(), 1)));
+        assertEquals(STOCK, productRepository.findQuantityByProductId(book.getProductId()));
+    }
+
+    private Product newProduct(String name, int quantity) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription(name + " for inventory tests");
+        product.setQuantity(quantity);
+        product.setPrice(10.0);
+        product.setSpecialPrice(10.0);
+        product.setCategory(category);
+        return product;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.security.jwt.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilsTest {
+
+    private static final String SECRET = "someSecretKeyBlaBlaBla3891289kajscn28938918njkcsaskSKJCNK9283982HJ3B12HCKHjshacbasc2cSrcas2dDbHJ";
+
+    private JwtUtils jwtUtils;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(60_000);
+        userDetails = User.withUsername("user1").password("password").roles("USER").build();
+    }
+
+    @Test
+    void getUsernameFromVerifiedToken_shouldReturnSubject_onFirstAndRepeatedUse() {
+        String token = jwtUtils.generateTokenFromUsername(userDetails);
+
+        assertEquals("user1", jwtUtils.getUsernameFromVerifiedToken(token));
+        assertEquals("user1", jwtUtils.getUsernameFromVerifiedToken(token));
+        assertTrue(jwtUtils.validateJWTToken(token));
+        assertEquals("user1", jwtUtils.getUsernameFromJWTToken(token));
+    }
+
+    @Test
+    void getUsernameFromVerifiedToken_shouldRejectTamperedToken() {
+        String token = jwtUtils.generateTokenFromUsername(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(jwtUtils.getUsernameFromVerifiedToken(tampered));
+        assertFalse(jwtUtils.validateJWTToken("not-a-token"));
+        assertNull(jwtUtils.getUsernameFromVerifiedToken(""));
+    }
+
+    @Test
+    void getUsernameFromVerifiedToken_shouldRejectCachedToken_afterItExpires() throws InterruptedException {
+        JwtUtils shortLived = newJwtUtils(2_000);
+        String token = shortLived.generateTokenFromUsername(userDetails);
+        assertEquals("user1", shortLived.getUsernameFromVerifiedToken(token));
+
+        Thread.sleep(2_100);
+
+        assertNull(shortLived.getUsernameFromVerifiedToken(token));
+    }
+
+    private static JwtUtils newJwtUtils(int expirationMs) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ConflictException;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderIdempotencyKey;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.repositories.OrderIdempotencyKeyRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.service.OrderIdempotencyStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderIdempotencyStoreIntegrationTest {
+
+    private static final String EMAIL = "idempotent@example.com";
+
+    @Autowired
+    private OrderIdempotencyStore orderIdempotencyStore;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    private final List<Long> orderIds = new CopyOnWriteArrayList<>();
+    private final AtomicInteger placements = new AtomicInteger();
+    private OrderRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        request = new OrderRequestDTO(1L, "CARD", "pg-1", "OK", "", "Stripe");
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyKeyRepository.deleteAll();
+        orderRepository.deleteAllById(orderIds);
+    }
+
+    @Test
+    void placeOnce_shouldReturnOriginalOrder_forRetriedRequest() {
+        String key = UUID.randomUUID().toString();
+
+        OrderDTO first = orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder);
+        OrderDTO retried = orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder);
+
+        assertEquals(1, placements.get());
+        assertEquals(first.getOrderId(), retried.getOrderId());
+        assertEquals(first.getTotalAmount(), retried.getTotalAmount());
+        assertEquals(first.getOrderId(), orderIdempotencyKeyRepository.findByEmailAndIdempotencyKey(EMAIL, key)
+                .orElseThrow().getOrderId());
+    }
+
+    @Test
+    void placeOnce_shouldReplayFromDatabase_whenKeyWasCompletedElsewhere() {
+        String key = UUID.randomUUID().toString();
+        OrderDTO claimed = orderIdempotencyStore.placeOnce(EMAIL, "other-" + key, request, this::placeOrder);
+        OrderIdempotencyKey completed = orderIdempotencyKeyRepository.findByEmailAndIdempotencyKey(EMAIL, "other-" + key).orElseThrow();
+        completed.setId(null);
+        completed.setIdempotencyKey(key);
+        orderIdempotencyKeyRepository.save(completed);
+
+        OrderDTO replayed = orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder);
+
+        assertEquals(1, placements.get());
+        assertEquals(claimed.getOrderId(), replayed.getOrderId());
+    }
+
+    @Test
+    void placeOnce_shouldRejectConcurrentDuplicate_whileFirstIsInProgress() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<OrderDTO> first = executor.submit(() -> orderIdempotencyStore.placeOnce(EMAIL, key, request, () -> {
+            placing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return placeOrder();
+        }));
+        try {
+            assertTrue(placing.await(10, TimeUnit.SECONDS));
+            assertThrows(ConflictException.class, () -> orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder));
+        } finally {
+            release.countDown();
+        }
+
+        OrderDTO placed = first.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertEquals(1, placements.get());
+        assertEquals(placed.getOrderId(), orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder).getOrderId());
+    }
+
+    @Test
+    void placeOnce_shouldRejectKeyReuse_forDifferentRequest() {
+        String key = UUID.randomUUID().toString();
+        orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder);
+
+        OrderRequestDTO otherRequest = new OrderRequestDTO(2L, "CARD", "pg-2", "OK", "", "Stripe");
+
+        assertThrows(APIException.class, () -> orderIdempotencyStore.placeOnce(EMAIL, key, otherRequest, this::placeOrder));
+        assertEquals(1, placements.get());
+    }
+
+    @Test
+    void placeOnce_shouldReleaseKey_whenPlacementFails() {
+        String key = UUID.randomUUID().toString();
+
+        assertThrows(APIException.class, () -> orderIdempotencyStore.placeOnce(EMAIL, key, request, () -> {
+            throw new APIException("Cart is empty");
+        }));
+        assertTrue(orderIdempotencyKeyRepository.findByEmailAndIdempotencyKey(EMAIL, key).isEmpty());
+
+        OrderDTO placed = orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder);
+        assertNotNull(placed.getOrderId());
+        assertEquals(1, placements.get());
+    }
+
+    @Test
+    void placeOnce_shouldTakeOverClaim_whenCheckoutNeverFinished() {
+        String key = UUID.randomUUID().toString();
+        LocalDateTime abandonedAt = LocalDateTime.now().minusHours(1);
+        orderIdempotencyStore.placeOnce(EMAIL, "probe-" + key, request, this::placeOrder);
+        OrderIdempotencyKey abandoned = orderIdempotencyKeyRepository.findByEmailAndIdempotencyKey(EMAIL, "probe-" + key).orElseThrow();
+        abandoned.setId(null);
+        abandoned.setIdempotencyKey(key);
+        abandoned.setOrderId(null);
+        abandoned.setCreatedAt(abandonedAt);
+        orderIdempotencyKeyRepository.save(abandoned);
+
+        OrderDTO placed = orderIdempotencyStore.placeOnce(EMAIL, key, request, this::placeOrder);
+
+        assertEquals(2, placements.get());
+        assertEquals(placed.getOrderId(), orderIdempotencyKeyRepository.findByEmailAndIdempotencyKey(EMAIL, key)
+                .orElseThrow().getOrderId());
+    }
+
+    private OrderDTO placeOrder() {
+        placements.incrementAndGet();
+        Order order = new Order();
+        order.setEmail(EMAIL);
+        order.setOrderDate(LocalDate.now());
+        order.setTotalAmount(120.0);
+        order.setOrderStatus("Order Accepted");
+        order.setOrderItems(new ArrayList<>());
+        order = orderRepository.save(order);
+        orderIds.add(order.getOrderId());
+        return modelMapper.map(order, OrderDTO.class);
+    }
+
+}
@@ -6,18 +6,25 @@ import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.repositories.*;
 import com.ecommerce.project.service.CartService;
+import com.ecommerce.project.service.InventoryService;
+import com.ecommerce.project.service.OutboxService;
+import com.ecommerce.project.service.ProductCache;
+import com.ecommerce.project.service.ProductSearchIndex;
 import com.ecommerce.project.service.OrderServiceImplementation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,15 +49,27 @@ public class OrderServiceImplementationTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
-    @Mock
-    private ProductRepository productRepository;
-
     @Mock
     private CartService cartService;
 
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private OrderServiceImplementation orderService;
 
@@ -83,7 +102,7 @@ public class OrderServiceImplementationTest {
         String email = "test@example.com";
         Long addressId = 1L;
 
-        when(cartRepository.findCartByEmail(email)).thenReturn(cart);
+        when(cartRepository.findCartWithItemsByEmail(email)).thenReturn(cart);
         when(addressRepository.findById(addressId)).thenReturn(Optional.of(address));
 
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -92,6 +111,7 @@ public class OrderServiceImplementationTest {
             order.setOrderId(123L);
             return order;
         });
+        when(inventoryService.reserve(Map.of(101L, 2))).thenReturn(Map.of(101L, 18));
         when(orderItemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         OrderDTO orderDTOWithInitializedList = new OrderDTO();
@@ -104,18 +124,23 @@ public class OrderServiceImplementationTest {
         verify(paymentRepository, times(1)).save(any(Payment.class));
         verify(orderItemRepository, times(1)).saveAll(anyList());
 
-        ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
-        verify(productRepository, times(1)).save(productCaptor.capture());
+        verify(inventoryService, times(1)).reserve(Map.of(101L, 2));
+        assertEquals(18, product.getQuantity());
 
-        Product savedProduct = productCaptor.getValue();
-        assertEquals(18, savedProduct.getQuantity());
+        verify(productCache, times(1)).updateQuantity(101L, 18);
+        verify(productCache, never()).evict(any(Product.class));
+        verify(cartService, times(1)).clearCart(cart.getCartId());
+        verify(cartService, never()).deleteProductFromCart(anyLong(), anyLong());
+        verify(outboxService, times(1)).append("Order", 123L, "OrderPlaced", orderDTOWithInitializedList);
 
-        verify(cartService, times(1)).deleteProductFromCart(cart.getCartId(), product.getProductId());
+        for (String stage : List.of("cart_load", "stock_decrement", "payment_save", "item_save", "cart_clear")) {
+            assertEquals(1, meterRegistry.get("order.placement.stage").tag("stage", stage).timer().count(), stage);
+        }
     }
 
     @Test
     void placeOrder_shouldThrowException_whenCartNotFound() {
-        when(cartRepository.findCartByEmail(anyString())).thenReturn(null);
+        when(cartRepository.findCartWithItemsByEmail(anyString())).thenReturn(null);
 
         assertThrows(ResourceNotFoundException.class, () -> {
             orderService.placeOrder("user@example.com", 1L, "CARD", "", "", "", "");
@@ -124,7 +149,7 @@ public class OrderServiceImplementationTest {
 
     @Test
     void placeOrder_shouldThrowException_whenAddressNotFound() {
-        when(cartRepository.findCartByEmail(anyString())).thenReturn(cart);
+        when(cartRepository.findCartWithItemsByEmail(anyString())).thenReturn(cart);
         when(addressRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -136,11 +161,29 @@ public class OrderServiceImplementationTest {
     void placeOrder_shouldThrowException_whenCartIsEmpty() {
         cart.setCartItems(new ArrayList<>());
 
-        when(cartRepository.findCartByEmail(anyString())).thenReturn(cart);
+        when(cartRepository.findCartWithItemsByEmail(anyString())).thenReturn(cart);
         when(addressRepository.findById(anyLong())).thenReturn(Optional.of(address));
 
         assertThrows(APIException.class, () -> {
             orderService.placeOrder("user@example.com", 1L, "CARD", "", "", "", "");
         });
+
+        verify(inventoryService, never()).reserve(anyMap());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void placeOrder_shouldNotCreateOrder_whenStockCannotBeReserved() {
+        when(cartRepository.findCartWithItemsByEmail(anyString())).thenReturn(cart);
+        when(addressRepository.findById(anyLong())).thenReturn(Optional.of(address));
+        when(inventoryService.reserve(Map.of(101L, 2))).thenThrow(new APIException("Not enough stock"));
+
+        assertThrows(APIException.class, () -> {
+            orderService.placeOrder("user@example.com", 1L, "CARD", "", "", "", "");
+        });
+
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(outboxService, never()).append(anyString(), anyLong(), anyString(), any());
     }
 }
\ No newline at end of file
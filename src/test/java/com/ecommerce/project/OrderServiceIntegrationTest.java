@@ -1,11 +1,16 @@
 package com.ecommerce.project;
 
+import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderResponse;
 import com.ecommerce.project.repositories.*;
 import com.ecommerce.project.service.OrderService;
 import com.ecommerce.project.util.AuthUtil;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +18,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -55,6 +61,15 @@ public class OrderServiceIntegrationTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @MockitoBean
     private AuthUtil authUtil;
 
@@ -142,5 +157,195 @@ public class OrderServiceIntegrationTest {
         assertEquals(48, finalProductState.getQuantity());
 
         assertEquals(0, cartItemRepository.count());
+        assertEquals(0.0, cartRepository.findById(cart.getCartId()).orElseThrow().getTotalPrice());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals("OrderPlaced", events.getFirst().getEventType());
+        assertEquals(resultOrder.getOrderId(), events.getFirst().getAggregateId());
+        assertTrue(events.getFirst().getPayload().contains("\"orderId\":" + resultOrder.getOrderId()));
+    }
+
+    @Test
+    void placeOrder_shouldInsertOrderPaymentAndItems_forFiftyItemCheckout() {
+        addBulkItemsToCart(49);
+
+        Statistics statistics = statistics();
+        OrderDTO resultOrder = orderService.placeOrder(user.getEmail(), address.getAddressId(), "CASH_ON_DELIVERY", "", "OK", "", "");
+        entityManager.flush();
+
+        assertEquals(50, resultOrder.getOrderItems().size());
+        // Order, payment, 50 items and the OrderPlaced outbox event
+        assertEquals(53, statistics.getEntityInsertCount());
+        assertEquals(0, cartItemRepository.count());
+    }
+
+    @Test
+    void placeOrder_shouldIssuePinnedNumberOfStatements_forFiftyItemCheckout() {
+        addBulkItemsToCart(49);
+        SqlStatements.reset();
+
+        orderService.placeOrder(user.getEmail(), address.getAddressId(), "CASH_ON_DELIVERY", "", "OK", "", "");
+        entityManager.flush();
+
+        // Cart, items and products in one query; the rest does not grow with the number of lines
+        SqlStatements.assertStatements(6, 4, 3, 1);
+    }
+
+    @Test
+    void saveOrderGraph_shouldBatchInserts_forFiftyItems() {
+        Statistics statistics = statistics();
+
+        Order order = new Order();
+        order.setEmail(user.getEmail());
+        order.setOrderDate(LocalDate.now());
+        order.setTotalAmount(500.0);
+        order.setOrderStatus("Order Accepted");
+        order.setAddress(address);
+        Payment payment = new Payment("CASH_ON_DELIVERY", "", "OK", "", "");
+        payment.setOrder(order);
+        order.setPayment(paymentRepository.save(payment));
+        order = orderRepository.save(order);
+
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(1);
+            orderItem.setOrderedProductPrice(10.0);
+            orderItems.add(orderItem);
+        }
+        orderItemRepository.saveAll(orderItems);
+        entityManager.flush();
+
+        assertEquals(52, statistics.getEntityInsertCount());
+        // At most one id fetch per sequence plus one insert batch per table, instead of 52 single-row inserts
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Expected batched inserts, but " + statistics.getPrepareStatementCount() + " statements were prepared");
     }
+
+    @Test
+    void searchOrders_shouldPageThroughUserHistory_newestFirst() {
+        List<Long> orderIds = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            orderIds.add(saveOrder(user.getEmail(), "Order Accepted", LocalDate.of(2024, 1, day)).getOrderId());
+        }
+        saveOrder("other@example.com", "Order Accepted", LocalDate.of(2024, 1, 3));
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderResponse firstPage = orderService.searchOrders(user.getEmail(), null, null, null, null, 2);
+        OrderResponse secondPage = orderService.searchOrders(user.getEmail(), null, null, null, firstPage.getNextCursor(), 2);
+        OrderResponse lastPage = orderService.searchOrders(user.getEmail(), null, null, null, secondPage.getNextCursor(), 2);
+
+        assertEquals(List.of(orderIds.get(4), orderIds.get(3)), orderIds(firstPage));
+        assertEquals(List.of(orderIds.get(2), orderIds.get(1)), orderIds(secondPage));
+        assertEquals(List.of(orderIds.get(0)), orderIds(lastPage));
+        assertFalse(firstPage.isLastPage());
+        assertTrue(lastPage.isLastPage());
+        assertNull(lastPage.getNextCursor());
+
+        OrderDTO order = firstPage.getContent().getFirst();
+        assertEquals(address.getAddressId(), order.getAddressId());
+        assertEquals("CASH_ON_DELIVERY", order.getPayment().getPaymentMethod());
+        assertEquals(1, order.getOrderItems().size());
+        assertEquals(product.getProductName(), order.getOrderItems().getFirst().getProduct().getProductName());
+    }
+
+    @Test
+    void searchOrders_shouldFilterByEmailStatusAndDateRange() {
+        Order match = saveOrder(user.getEmail(), "Shipped", LocalDate.of(2024, 2, 10));
+        saveOrder(user.getEmail(), "Order Accepted", LocalDate.of(2024, 2, 11));
+        saveOrder(user.getEmail(), "Shipped", LocalDate.of(2024, 3, 1));
+        saveOrder("other@example.com", "Shipped", LocalDate.of(2024, 2, 12));
+        entityManager.flush();
+        entityManager.clear();
+
+        OrderResponse byAll = orderService.searchOrders(user.getEmail(), "Shipped",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), null, 50);
+        OrderResponse byStatus = orderService.searchOrders(null, "Shipped", null, null, null, 50);
+        OrderResponse byDate = orderService.searchOrders(null, null, LocalDate.of(2024, 2, 11), LocalDate.of(2024, 2, 12), null, 50);
+
+        assertEquals(List.of(match.getOrderId()), orderIds(byAll));
+        assertEquals(3, byStatus.getContent().size());
+        assertEquals(2, byDate.getContent().size());
+        assertTrue(orderService.searchOrders("nobody@example.com", null, null, null, null, 50).getContent().isEmpty());
+    }
+
+    @Test
+    void searchOrders_shouldRejectInvalidPageSizeAndDateRange() {
+        assertThrows(APIException.class, () -> orderService.searchOrders(null, null, null, null, null, 0));
+        assertThrows(APIException.class, () -> orderService.searchOrders(null, null, null, null, null, 1000));
+        assertThrows(APIException.class, () -> orderService.searchOrders(null, null,
+                LocalDate.of(2024, 2, 2), LocalDate.of(2024, 2, 1), null, 50));
+    }
+
+    @Test
+    void searchOrders_shouldIssuePinnedNumberOfStatements_perPage() {
+        for (int day = 1; day <= 20; day++) {
+            saveOrder(user.getEmail(), "Order Accepted", LocalDate.of(2024, 1, day));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatements.reset();
+
+        OrderResponse page = orderService.searchOrders(user.getEmail(), null, null, null, null, 20);
+
+        assertEquals(20, page.getContent().size());
+        // Orders, their addresses and payments, their items: independent of the page size
+        SqlStatements.assertStatements(3, 0, 0, 0);
+    }
+
+    private Order saveOrder(String email, String status, LocalDate orderDate) {
+        Order order = new Order();
+        order.setEmail(email);
+        order.setOrderDate(orderDate);
+        order.setTotalAmount(250.0);
+        order.setOrderStatus(status);
+        order.setAddress(address);
+        Payment payment = new Payment("CASH_ON_DELIVERY", "", "OK", "", "");
+        payment.setOrder(order);
+        order.setPayment(paymentRepository.save(payment));
+        order = orderRepository.save(order);
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrder(order);
+        orderItem.setProduct(product);
+        orderItem.setQuantity(1);
+        orderItem.setOrderedProductPrice(250.0);
+        orderItemRepository.save(orderItem);
+        return order;
+    }
+
+    private List<Long> orderIds(OrderResponse orderResponse) {
+        return orderResponse.getContent().stream().map(OrderDTO::getOrderId).toList();
+    }
+
+    private void addBulkItemsToCart(int count) {
+        for (int i = 1; i <= count; i++) {
+            Product bulkProduct = new Product();
+            bulkProduct.setProductName("Bulk Book " + i);
+            bulkProduct.setDescription("A book for bulk orders");
+            bulkProduct.setQuantity(50);
+            bulkProduct.setPrice(10.0);
+            bulkProduct.setSpecialPrice(10.0);
+            bulkProduct.setCategory(product.getCategory());
+            productRepository.save(bulkProduct);
+
+            cart.getCartItems().add(new CartItem(null, cart, bulkProduct, 1, 0.0, 10.0));
+            cart.setTotalPrice(cart.getTotalPrice() + 10.0);
+        }
+        cart = cartRepository.save(cart);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Statistics statistics() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
 }
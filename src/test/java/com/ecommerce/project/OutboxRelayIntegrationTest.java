@@ -0,0 +1,131 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.service.InMemoryOutboxEventSink;
+import com.ecommerce.project.service.OutboxRelay;
+import com.ecommerce.project.service.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "project.outbox.relay.batchSize=2")
+public class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockitoSpyBean
+    private InMemoryOutboxEventSink outboxEventSink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outboxEventSink.drain();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void relayPending_shouldPublishEventsInOrder_andRemoveThem() {
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            append(orderId);
+        }
+
+        assertEquals(5, outboxRelay.relayPending());
+
+        List<OutboxEvent> published = outboxEventSink.drain();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), published.stream().map(OutboxEvent::getAggregateId).toList());
+        assertEquals("{\"orderId\":3}", published.get(2).getPayload());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0.0, meterRegistry.get("outbox.events.pending").gauge().value());
+        assertTrue(meterRegistry.get("outbox.event.lag").timer().count() >= 5);
+    }
+
+    @Test
+    void relayPending_shouldPublishBatchAgain_whenSinkFails() throws IOException {
+        append(1L);
+        append(2L);
+        append(3L);
+        doThrow(new IOException("Sink unavailable")).doCallRealMethod().when(outboxEventSink).publish(anyList());
+
+        assertThrows(RuntimeException.class, () -> outboxRelay.relayPending());
+        assertEquals(3, outboxEventRepository.count());
+        // Only the batch that failed is known to be waiting
+        assertEquals(2.0, meterRegistry.get("outbox.events.pending").gauge().value());
+        assertTrue(meterRegistry.get("outbox.oldest.pending.age").timeGauge().value() >= 0);
+        assertTrue(outboxEventSink.drain().isEmpty());
+
+        assertEquals(3, outboxRelay.relayPending());
+        assertEquals(List.of(1L, 2L, 3L), outboxEventSink.drain().stream().map(OutboxEvent::getAggregateId).toList());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void relayPending_shouldKeepEachAggregatesEventsInOrder() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.append("Order", 2L, "OrderPlaced", Map.of("orderId", 2L, "seq", 1));
+            outboxService.append("Order", 1L, "OrderPlaced", Map.of("orderId", 1L, "seq", 2));
+            outboxService.append("Order", 2L, "OrderShipped", Map.of("orderId", 2L, "seq", 3));
+        });
+
+        assertEquals(3, outboxRelay.relayPending());
+
+        List<OutboxEvent> published = outboxEventSink.drain();
+        assertEquals(List.of(1L, 2L, 2L), published.stream().map(OutboxEvent::getAggregateId).toList());
+        assertEquals(List.of("OrderPlaced", "OrderPlaced", "OrderShipped"), published.stream().map(OutboxEvent::getEventType).toList());
+        assertEquals(0.0, meterRegistry.get("outbox.events.pending").gauge().value());
+    }
+
+    @Test
+    void append_shouldDiscardEvent_whenTransactionRollsBack() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            outboxService.append("Order", 9L, "OrderPlaced", Map.of("orderId", 9L));
+            throw new IllegalStateException("Order could not be placed");
+        }));
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, outboxRelay.relayPending());
+    }
+
+    private void append(Long orderId) {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.append("Order", orderId, "OrderPlaced", Map.of("orderId", orderId)));
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.*;
+import com.ecommerce.project.util.PayloadMappers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PayloadMappersTest {
+
+    private final ModelMapper reflective = new ModelMapper();
+    private final ModelMapper precompiled = new ModelMapper();
+
+    private Product product;
+    private Category category;
+    private Address address;
+    private Cart cart;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        PayloadMappers.register(precompiled);
+
+        category = new Category();
+        category.setCategoryId(1L);
+        category.setCategoryName("Electronics");
+
+        product = new Product();
+        product.setProductId(101L);
+        product.setProductName("Laptop");
+        product.setImage("laptop.png");
+        product.setDescription("Fast laptop");
+        product.setQuantity(5);
+        product.setPrice(1000.0);
+        product.setDiscount(10.0);
+        product.setSpecialPrice(900.0);
+        product.setCategory(category);
+
+        address = new Address();
+        address.setAddressId(7L);
+        address.setStreet("Main Street");
+        address.setBuildingName("Tower");
+        address.setCity("Budapest");
+        address.setState("Pest");
+        address.setCountry("Hungary");
+        address.setZipcode("1011");
+
+        cart = new Cart();
+        cart.setCartId(3L);
+        cart.setTotalPrice(1800.0);
+        CartItem cartItem = new CartItem();
+        cartItem.setCartItemId(4L);
+        cartItem.setCart(cart);
+        cartItem.setProduct(product);
+        cartItem.setQuantity(2);
+        cart.setCartItems(new ArrayList<>(List.of(cartItem)));
+
+        Payment payment = new Payment();
+        payment.setPaymentId(11L);
+        payment.setPaymentMethod("card");
+        payment.setPgPaymentId("pg-1");
+        payment.setPgStatus("succeeded");
+        payment.setPgResponseMessage("ok");
+        payment.setPgName("stripe");
+
+        order = new Order();
+        order.setOrderId(21L);
+        order.setEmail("user@example.com");
+        order.setOrderDate(LocalDate.of(2025, 1, 15));
+        order.setPayment(payment);
+        order.setTotalAmount(1800.0);
+        order.setOrderStatus("Accepted");
+        order.setAddress(address);
+        OrderItem orderItem = new OrderItem();
+        orderItem.setOrderItemId(31L);
+        orderItem.setOrder(order);
+        orderItem.setProduct(product);
+        orderItem.setQuantity(2);
+        orderItem.setDiscount(10.0);
+        orderItem.setOrderedProductPrice(900.0);
+        order.setOrderItems(new ArrayList<>(List.of(orderItem)));
+    }
+
+    @Test
+    void entityToPayload_shouldMatchReflectiveMapping() {
+        assertParity(product, ProductDTO.class);
+        assertParity(category, CategoryDTO.class);
+        assertParity(address, AddressDTO.class);
+        assertParity(cart, CartDTO.class);
+        assertParity(order, OrderDTO.class);
+        assertParity(order.getOrderItems().getFirst(), OrderItemDTO.class);
+        assertParity(order.getPayment(), PaymentDTO.class);
+    }
+
+    @Test
+    void payloadToEntity_shouldMatchReflectiveMapping() {
+        assertParity(reflective.map(product, ProductDTO.class), Product.class);
+        assertParity(reflective.map(category, CategoryDTO.class), Category.class);
+        assertParity(reflective.map(address, AddressDTO.class), Address.class);
+    }
+
+    @Test
+    void entityToPayload_shouldMatchReflectiveMapping_whenAssociationsAreMissing() {
+        order.setPayment(null);
+        order.setAddress(null);
+        order.setOrderItems(new ArrayList<>());
+        cart.setCartItems(new ArrayList<>());
+
+        assertParity(order, OrderDTO.class);
+        assertParity(cart, CartDTO.class);
+        assertParity(new Product(), ProductDTO.class);
+    }
+
+    @Test
+    void map_shouldReturnMutableOrderItems() {
+        OrderDTO orderDTO = precompiled.map(order, OrderDTO.class);
+
+        orderDTO.getOrderItems().add(new OrderItemDTO());
+
+        assertEquals(2, orderDTO.getOrderItems().size());
+    }
+
+    private <D> void assertParity(Object source, Class<D> destinationType) {
+        D expected = reflective.map(source, destinationType);
+        D actual = precompiled.map(source, destinationType);
+
+        assertNotNull(actual);
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CacheStatsDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.ProductCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @InjectMocks
+    private ProductCache productCache = new ProductCache(100, 60, 100, 60);
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setCategoryId(1L);
+
+        product = new Product();
+        product.setProductId(101L);
+        product.setCategory(category);
+    }
+
+    @Test
+    void getProduct_shouldLoadOnceAndServeCopies() {
+        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(modelMapper.map(product, ProductDTO.class))
+                .thenReturn(new ProductDTO(101L, "Laptop", "default.png", "Fast", 5, 1000.0, 10.0, 900.0));
+
+        ProductDTO first = productCache.getProduct(101L);
+        first.setQuantity(0);
+        ProductDTO second = productCache.getProduct(101L);
+
+        assertEquals(5, second.getQuantity());
+        verify(productRepository, times(1)).findById(101L);
+    }
+
+    @Test
+    void getProduct_shouldThrowException_whenProductDoesNotExist() {
+        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productCache.getProduct(999L));
+    }
+
+    @Test
+    void evict_shouldDropPagesOfSameCategoryAndGlobalPagesOnly() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProductResponse> loader = () -> {
+            loads.incrementAndGet();
+            return new ProductResponse();
+        };
+        productCache.getPage(null, "page:0", loader);
+        productCache.getPage(1L, "page:0", loader);
+        productCache.getPage(2L, "page:0", loader);
+
+        productCache.evict(product);
+
+        productCache.getPage(null, "page:0", loader);
+        productCache.getPage(1L, "page:0", loader);
+        productCache.getPage(2L, "page:0", loader);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void updateQuantity_shouldRewriteCachedStock_withoutDroppingPages() {
+        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(modelMapper.map(product, ProductDTO.class))
+                .thenReturn(new ProductDTO(101L, "Laptop", "default.png", "Fast", 5, 1000.0, 10.0, 900.0));
+        ProductDTO mouse = new ProductDTO(102L, "Mouse", "default.png", "Wireless", 7, 50.0, 0.0, 50.0);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProductResponse> loader = () -> {
+            loads.incrementAndGet();
+            return new ProductResponse(List.of(productCache.getProduct(101L), mouse), 0, 2, 2L, 1, true, null);
+        };
+        ProductResponse before = productCache.getPage(null, "page:0", loader);
+
+        productCache.updateQuantity(101L, 2);
+
+        ProductResponse after = productCache.getPage(null, "page:0", loader);
+        assertEquals(1, loads.get());
+        assertEquals(List.of(2, 7), after.getContent().stream().map(ProductDTO::getQuantity).toList());
+        assertEquals(5, before.getContent().getFirst().getQuantity());
+        assertEquals(2, productCache.getProduct(101L).getQuantity());
+        verify(productRepository, times(1)).findById(101L);
+    }
+
+    @Test
+    void stats_shouldReportHitsAndMisses() {
+        productCache.getPage(1L, "page:0", ProductResponse::new);
+        productCache.getPage(1L, "page:0", ProductResponse::new);
+
+        List<CacheStatsDTO> stats = productCache.stats();
+
+        CacheStatsDTO pages = stats.stream().filter(s -> s.getCacheName().equals("productPages")).findFirst().orElseThrow();
+        assertEquals(1L, pages.getHitCount());
+        assertEquals(1L, pages.getMissCount());
+        assertEquals(1L, pages.getSize());
+    }
+
+}
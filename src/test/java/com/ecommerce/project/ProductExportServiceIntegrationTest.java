@@ -0,0 +1,115 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFileFormat;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.ProductExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class ProductExportServiceIntegrationTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Category books;
+    private Category garden;
+
+    @BeforeEach
+    void setUp() {
+        books = categoryRepository.save(new Category(null, "Books", new ArrayList<>()));
+        garden = categoryRepository.save(new Category(null, "Garden", new ArrayList<>()));
+        productRepository.save(newProduct("Novel", "A long story", books, 12.5));
+        productRepository.save(newProduct("Atlas, 2nd \"world\" edition", "Maps\nand more maps", books, 40.0));
+        productRepository.save(newProduct("Rake", "For leaves", garden, 25.0));
+    }
+
+    @Test
+    void exportProducts_shouldWriteOneJsonObjectPerLine_inProductIdOrder() throws Exception {
+        String ndjson = export(null, ProductFileFormat.NDJSON);
+
+        List<ProductDTO> products = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            products.add(objectMapper.readValue(line, ProductDTO.class));
+        }
+
+        assertTrue(ndjson.endsWith("\n"));
+        assertEquals(List.of("Novel", "Atlas, 2nd \"world\" edition", "Rake"),
+                products.stream().map(ProductDTO::getProductName).toList());
+        assertEquals("Maps\nand more maps", products.get(1).getDescription());
+        assertEquals(40.0, products.get(1).getPrice());
+        assertTrue(products.get(0).getProductId() < products.get(1).getProductId());
+    }
+
+    @Test
+    void exportProducts_shouldWriteQuotedCsv_forOneCategory() throws Exception {
+        String csv = export(books.getCategoryId(), ProductFileFormat.CSV);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("productId,productName,image,description,quantity,price,discount,specialPrice", lines[0]);
+        assertTrue(lines[1].endsWith(",Novel,default.png,A long story,10,12.5,0.0,12.5"));
+        assertTrue(lines[2].endsWith(",\"Atlas, 2nd \"\"world\"\" edition\",default.png,\"Maps\nand more maps\",10,40.0,0.0,40.0"));
+    }
+
+    @Test
+    void exportProducts_shouldRejectUnknownCategory_beforeStreaming() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> productExportService.exportProducts(Long.MAX_VALUE, ProductFileFormat.NDJSON));
+    }
+
+    @Test
+    void exportFormat_shouldAcceptKnownFormatsCaseInsensitively() {
+        assertEquals(ProductFileFormat.CSV, ProductFileFormat.of("CSV"));
+        assertEquals(ProductFileFormat.NDJSON, ProductFileFormat.of("ndjson"));
+        assertThrows(APIException.class, () -> ProductFileFormat.of("xml"));
+    }
+
+    private String export(Long categoryId, ProductFileFormat format) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        productExportService.exportProducts(categoryId, format).writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private Product newProduct(String name, String description, Category category, double price) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription(description);
+        product.setImage("default.png");
+        product.setQuantity(10);
+        product.setPrice(price);
+        product.setSpecialPrice(price);
+        product.setCategory(category);
+        return product;
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductFileFormat;
+import com.ecommerce.project.payload.ProductImportErrorDTO;
+import com.ecommerce.project.payload.ProductImportReportDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.ProductImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductImportServiceIntegrationTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category lighting;
+    private Category garden;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 2);
+        lighting = categoryRepository.save(new Category(null, "Lighting", new ArrayList<>()));
+        garden = categoryRepository.save(new Category(null, "Garden", new ArrayList<>()));
+
+        Product lamp = new Product();
+        lamp.setProductName("Desk Lamp");
+        lamp.setDescription("Adjustable desk lamp");
+        lamp.setQuantity(5);
+        lamp.setCategory(lighting);
+        productRepository.save(lamp);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(productsOf(lighting));
+        productRepository.deleteAll(productsOf(garden));
+        categoryRepository.deleteAllById(List.of(lighting.getCategoryId(), garden.getCategoryId()));
+        ReflectionTestUtils.setField(productImportService, "chunkSize", 500);
+    }
+
+    @Test
+    void importProducts_shouldSaveValidRows_andReportRejectedOnes() throws Exception {
+        String csv = """
+                productName,description,quantity,price,discount
+                Floor Lamp,Tall floor lamp,3,80,25
+                "  desk LAMP ",Same lamp again,1,20,0
+                Ceiling Light,"Light, ceiling mounted",7,45.5,
+                Ceiling Light,Imported twice,7,45.5,0
+                Ab,Name too short,1,10,0
+                Wall Light,Wall mounted light,1,cheap,0
+                Night Light,Soft night light,2,12,0
+                """;
+
+        ProductImportReportDTO report = productImportService.importProducts(stream(csv), ProductFileFormat.CSV, lighting.getCategoryId());
+
+        assertEquals(7, report.getTotalRows());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(2L, 4L, 5L, 6L), report.getErrors().stream().map(ProductImportErrorDTO::getRow).toList());
+        assertEquals("price must be a number, got 'cheap'", report.getErrors().get(3).getMessage());
+
+        List<Product> products = productsOf(lighting);
+        assertEquals(List.of("Ceiling Light", "Desk Lamp", "Floor Lamp", "Night Light"),
+                products.stream().map(Product::getProductName).sorted().toList());
+        Product floorLamp = products.stream().filter(p -> p.getProductName().equals("Floor Lamp")).findFirst().orElseThrow();
+        assertEquals(60.0, floorLamp.getSpecialPrice());
+        assertEquals("default.png", floorLamp.getImage());
+    }
+
+    @Test
+    void importProducts_shouldReadNdjson_withCategoryPerRow() throws Exception {
+        String ndjson = String.join("\n",
+                "{\"productName\":\"Garden Hose\",\"description\":\"Twenty metre hose\",\"price\":30,\"categoryId\":" + garden.getCategoryId() + "}",
+                "{\"productName\":\"Desk Lamp\",\"description\":\"Same name, other category\",\"price\":15,\"categoryId\":" + garden.getCategoryId() + "}",
+                "{\"productName\":\"Lamp Bulb\",\"description\":\"Warm white bulb\",\"price\":4}",
+                "{\"productName\":\"Lost Item\",\"description\":\"Unknown category\",\"price\":4,\"categoryId\":" + Long.MAX_VALUE + "}");
+
+        ProductImportReportDTO report = productImportService.importProducts(stream(ndjson), ProductFileFormat.NDJSON, lighting.getCategoryId());
+
+        assertEquals(4, report.getTotalRows());
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, productsOf(garden).size());
+        assertEquals(2, productsOf(lighting).size());
+    }
+
+    @Test
+    void importProducts_shouldRetryFailedChunkRowByRow() throws Exception {
+        String csv = "productName,description,price\n"
+                + "Table Lamp,Small table lamp,20\n"
+                + "Reading Lamp," + "x".repeat(300) + ",25\n";
+
+        ProductImportReportDTO report = productImportService.importProducts(stream(csv), ProductFileFormat.CSV, lighting.getCategoryId());
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(2L, report.getErrors().get(0).getRow());
+        assertTrue(productsOf(lighting).stream().anyMatch(p -> p.getProductName().equals("Table Lamp")));
+    }
+
+    @Test
+    void importProducts_shouldRejectFileWithoutRequiredColumns() {
+        assertThrows(APIException.class, () -> productImportService.importProducts(
+                stream("productName,price\nLamp,10\n"), ProductFileFormat.CSV, lighting.getCategoryId()));
+        assertThrows(APIException.class, () -> productImportService.importProducts(
+                stream("productName,description,price\nLamp Shade,Linen shade,10\n"), ProductFileFormat.CSV, null));
+    }
+
+    private List<Product> productsOf(Category category) {
+        return productRepository.findAll().stream()
+                .filter(product -> product.getCategory() != null
+                        && product.getCategory().getCategoryId().equals(category.getCategoryId()))
+                .toList();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
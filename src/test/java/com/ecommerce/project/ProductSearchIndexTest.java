@@ -0,0 +1,80 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.service.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+        productSearchIndex.index(new ProductDTO(1L, "Gaming Laptop", "default.png", "Fast laptop for games", 5, 1500.0, 0.0, 1500.0));
+        productSearchIndex.index(new ProductDTO(2L, "Office Laptop", "default.png", "Light and quiet", 10, 900.0, 10.0, 810.0));
+        productSearchIndex.index(new ProductDTO(3L, "Desk Lamp", "default.png", "Bright LED lamp", 20, 40.0, 0.0, 40.0));
+    }
+
+    @Test
+    void search_shouldMatchSubstringOfNameIgnoringCase() {
+        Page<ProductDTO> result = productSearchIndex.search("LAPT", PageRequest.of(0, 10, Sort.by("price").ascending()));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getProductId());
+        assertEquals(1L, result.getContent().get(1).getProductId());
+    }
+
+    @Test
+    void search_shouldMatchDescriptionAndShortKeywords() {
+        assertEquals(1, productSearchIndex.search("led", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(2, productSearchIndex.search("o", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void search_shouldPageResults() {
+        Page<ProductDTO> result = productSearchIndex.search("a", PageRequest.of(1, 2, Sort.by("productId").descending()));
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+        assertEquals(1, result.getContent().size());
+        assertEquals(1L, result.getContent().getFirst().getProductId());
+    }
+
+    @Test
+    void index_shouldReplaceStaleTokens_whenProductIsUpdated() {
+        productSearchIndex.index(new ProductDTO(3L, "Floor Lamp", "default.png", "Warm light", 20, 60.0, 0.0, 60.0));
+
+        assertTrue(productSearchIndex.search("desk", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, productSearchIndex.search("floor", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(3, productSearchIndex.size());
+    }
+
+    @Test
+    void updateQuantity_shouldRefreshStockWithoutReindexing() {
+        productSearchIndex.updateQuantity(2L, 3);
+
+        assertEquals(3, productSearchIndex.search("office", PageRequest.of(0, 10)).getContent().getFirst().getQuantity());
+    }
+
+    @Test
+    void remove_shouldDropProductFromResults() {
+        productSearchIndex.remove(1L);
+
+        assertEquals(1, productSearchIndex.search("laptop", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void search_shouldThrowException_whenSortFieldIsUnknown() {
+        assertThrows(APIException.class, () ->
+                productSearchIndex.search("lamp", PageRequest.of(0, 10, Sort.by("color"))));
+    }
+
+}
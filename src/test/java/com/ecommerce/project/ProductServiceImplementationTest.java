@@ -10,19 +10,28 @@ import com.ecommerce.project.payload.ProductResponse;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductView;
 import com.ecommerce.project.service.CartService;
+import com.ecommerce.project.service.ProductCache;
+import com.ecommerce.project.service.ProductSearchIndex;
 import com.ecommerce.project.service.FileService;
 import com.ecommerce.project.service.ProductServiceImplementation;
+import com.ecommerce.project.service.RepricingJobService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,12 +55,21 @@ public class ProductServiceImplementationTest {
     @Mock
     private CartService cartService;
 
+    @Mock
+    private RepricingJobService repricingJobService;
+
     @Mock
     private FileService fileService;
 
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, 60, 100, 60);
+
     @InjectMocks
     private ProductServiceImplementation productService;
 
@@ -73,40 +91,64 @@ public class ProductServiceImplementationTest {
         product.setProductName("Test Laptop");
         product.setPrice(1000.0);
         product.setDiscount(5.0);
+        product.setCategory(category);
     }
 
     @Test
     void addProduct_shouldCreateProduct_whenProductNotExists() {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
         when(modelMapper.map(productDTO, Product.class)).thenReturn(product);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
         when(modelMapper.map(product, ProductDTO.class)).thenReturn(productDTO);
 
         ProductDTO savedProductDTO = productService.addProduct(1L, productDTO);
 
         assertNotNull(savedProductDTO);
         assertEquals("Test Laptop", savedProductDTO.getProductName());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository).existsByCategoryCategoryIdAndNormalizedName(1L, "test laptop");
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
     }
 
     @Test
     void addProduct_shouldThrowException_whenProductAlreadyExists() {
-        category.getProducts().add(product);
-
+        productDTO.setProductName("  TEST laptop ");
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(productRepository.existsByCategoryCategoryIdAndNormalizedName(1L, "test laptop")).thenReturn(true);
 
         assertThrows(APIException.class, () -> {
             productService.addProduct(1L, productDTO);
         });
 
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void addProduct_shouldThrowException_whenConcurrentInsertWinsTheName() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(modelMapper.map(productDTO, Product.class)).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, "PUBLIC." + Product.NAME_CONSTRAINT.toUpperCase())));
+
+        assertThrows(APIException.class, () -> productService.addProduct(1L, productDTO));
+
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    @Test
+    void updateProduct_shouldThrowException_whenRenamedToExistingName() {
+        productDTO.setProductName("Gaming Laptop");
+        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productRepository.existsByCategoryCategoryIdAndNormalizedNameAndProductIdNot(1L, "gaming laptop", 101L)).thenReturn(true);
+
+        assertThrows(APIException.class, () -> productService.updateProduct(101L, productDTO));
+
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
     }
 
     @Test
     void getAllProducts_shouldReturnPagedProducts_whenProductsExist() {
-        Page<Product> productPage = new PageImpl<>(List.of(product));
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
-        when(modelMapper.map(product, ProductDTO.class)).thenReturn(productDTO);
+        Page<ProductView> productPage = new PageImpl<>(List.of(viewOf(product)));
+        when(productRepository.findProjectedBy(any(Pageable.class))).thenReturn(productPage);
 
         ProductResponse result = productService.getAllProducts(0, 5, "price", "asc");
 
@@ -116,9 +158,47 @@ public class ProductServiceImplementationTest {
         assertEquals("Test Laptop", result.getContent().getFirst().getProductName());
     }
 
+    @Test
+    void getAllProducts_shouldServeRepeatedPageFromCache_untilProductChanges() {
+        Page<ProductView> productPage = new PageImpl<>(List.of(viewOf(product)));
+        when(productRepository.findProjectedBy(any(Pageable.class))).thenReturn(productPage);
+        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
+        when(modelMapper.map(product, ProductDTO.class)).thenReturn(productDTO);
+
+        productService.getAllProducts(0, 5, "price", "asc");
+        productService.getAllProducts(0, 5, "price", "asc");
+        verify(productRepository, times(1)).findProjectedBy(any(Pageable.class));
+
+        productService.updateProduct(101L, productDTO);
+        productService.getAllProducts(0, 5, "price", "asc");
+        verify(productRepository, times(2)).findProjectedBy(any(Pageable.class));
+    }
+
+    @Test
+    void searchByCategory_shouldReturnProjectedProducts_whenCategoryExists() {
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        when(productRepository.findProjectedByCategoryCategoryIdOrderByPriceAsc(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(viewOf(product))));
+
+        ProductResponse result = productService.searchByCategory(1L, 0, 5, "price", "asc");
+
+        assertEquals(101L, result.getContent().getFirst().getProductId());
+        assertEquals(1000.0, result.getContent().getFirst().getPrice());
+        verify(productRepository, never()).findById(any());
+        verifyNoInteractions(modelMapper);
+    }
+
+    @Test
+    void searchByCategory_shouldThrowException_whenCategoryNotFound() {
+        when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.searchByCategory(999L, 0, 5, "price", "asc"));
+    }
+
     @Test
     void getAllProducts_shouldThrowException_whenNoProductsExist() {
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(productRepository.findProjectedBy(any(Pageable.class))).thenReturn(Page.empty());
 
         assertThrows(APIException.class, () -> {
             productService.getAllProducts(0, 5, "price", "asc");
@@ -133,7 +213,7 @@ public class ProductServiceImplementationTest {
         updatedDetails.setDiscount(5.0);
 
         when(productRepository.findById(101L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
         when(modelMapper.map(product, ProductDTO.class)).thenReturn(updatedDetails);
 
         ProductDTO result = productService.updateProduct(101L, updatedDetails);
@@ -141,7 +221,22 @@ public class ProductServiceImplementationTest {
         assertNotNull(result);
         assertEquals("Updated Laptop Name", result.getProductName());
         verify(productRepository, times(1)).findById(101L);
-        verify(productRepository, times(1)).save(product);
+        verify(productRepository, times(1)).saveAndFlush(product);
+        verify(cartService).repriceProductInCarts(101L, 570.0);
+        verifyNoInteractions(cartRepository);
+    }
+
+    @Test
+    void updateProduct_shouldSubmitRepricingJob_whenRepricingIsAsync() {
+        ReflectionTestUtils.setField(productService, "asyncRepricing", true);
+        when(productRepository.findById(101L)).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
+        when(modelMapper.map(product, ProductDTO.class)).thenReturn(productDTO);
+
+        productService.updateProduct(101L, productDTO);
+
+        verify(repricingJobService).submit(101L, 950.0);
+        verifyNoInteractions(cartService);
     }
 
     @Test
@@ -179,4 +274,29 @@ public class ProductServiceImplementationTest {
         });
     }
 
+    @Test
+    void searchProductByKeyword_shouldReturnProductsFromIndex() {
+        when(productSearchIndex.search(eq("laptop"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(productDTO)));
+
+        ProductResponse result = productService.searchProductByKeyword("laptop", 0, 5, "price", "asc");
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("Test Laptop", result.getContent().getFirst().getProductName());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProductByKeyword_shouldThrowException_whenNothingMatches() {
+        when(productSearchIndex.search(eq("phone"), any(Pageable.class))).thenReturn(Page.empty());
+
+        assertThrows(APIException.class, () -> {
+            productService.searchProductByKeyword("phone", 0, 5, "price", "asc");
+        });
+    }
+
+    private static ProductView viewOf(Product product) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ProductView.class, product);
+    }
+
 }
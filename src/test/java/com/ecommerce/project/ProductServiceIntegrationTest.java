@@ -1,21 +1,36 @@
 package com.ecommerce.project;
 
+import com.ecommerce.project.config.DataInitializer;
+import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
 import com.ecommerce.project.service.CategoryService;
+import com.ecommerce.project.service.FileService;
 import com.ecommerce.project.service.ProductService;
+import com.ecommerce.project.util.ProductNames;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -34,6 +49,15 @@ public class ProductServiceIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private DataInitializer dataInitializer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private FileService fileService;
+
     @Test
     void testAddProduct_shouldCreateAndLinkProductToCategory() {
         Category category = new Category();
@@ -60,4 +84,193 @@ public class ProductServiceIntegrationTest {
         assertEquals("Electronics", foundProduct.getCategory().getCategoryName());
     }
 
+    @Test
+    void testScrollProductsByCategory_shouldVisitEveryProductOnce() {
+        Category category = new Category();
+        category.setCategoryName("Electronics");
+        category.setProducts(new ArrayList<>());
+        Category savedCategory = categoryRepository.save(category);
+
+        double[] prices = {300.0, 100.0, 200.0, 100.0, 500.0};
+        for (int i = 0; i < prices.length; i++) {
+            Product product = new Product();
+            product.setProductName("Scroll Product " + i);
+            product.setDescription("Product used for scrolling");
+            product.setQuantity(10);
+            product.setPrice(prices[i]);
+            product.setSpecialPrice(prices[i]);
+            product.setCategory(savedCategory);
+            productRepository.save(product);
+        }
+
+        List<Double> visitedPrices = new ArrayList<>();
+        Set<Long> visitedIds = new HashSet<>();
+        String after = null;
+        int pages = 0;
+        do {
+            ProductResponse page = productService.scrollProductsByCategory(savedCategory.getCategoryId(), after, 2, "price", "desc");
+            page.getContent().forEach(productDTO -> {
+                visitedPrices.add(productDTO.getPrice());
+                assertTrue(visitedIds.add(productDTO.getProductId()));
+            });
+            assertNull(page.getTotalElements());
+            after = page.getNextCursor();
+            pages++;
+            assertEquals(after == null, page.isLastPage());
+        } while (after != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(500.0, 300.0, 200.0, 100.0, 100.0), visitedPrices);
+    }
+
+    @Test
+    void testScrollProducts_shouldRejectCursorIssuedForAnotherSort() {
+        Category category = new Category();
+        category.setCategoryName("Electronics");
+        Category savedCategory = categoryRepository.save(category);
+
+        for (int i = 0; i < 2; i++) {
+            Product product = new Product();
+            product.setProductName("Scroll Product " + i);
+            product.setDescription("Product used for scrolling");
+            product.setCategory(savedCategory);
+            productRepository.save(product);
+        }
+
+        String cursor = productService.scrollProducts(null, 1, "productId", "asc").getNextCursor();
+
+        assertNotNull(cursor);
+        assertThrows(APIException.class, () -> productService.scrollProducts(cursor, 1, "productName", "asc"));
+        assertThrows(APIException.class, () -> productService.scrollProducts("not-a-cursor", 1, "productId", "asc"));
+    }
+
+    @Test
+    void testScrollProducts_shouldRejectSortByNullableColumn() {
+        Category category = categoryRepository.save(new Category(null, "Garden", new ArrayList<>()));
+        Product product = newProduct("Watering can", category);
+        product.setImage(null);
+        productRepository.save(product);
+
+        APIException exception = assertThrows(APIException.class, () -> productService.scrollProducts(null, 1, "image", "asc"));
+        assertTrue(exception.getMessage().startsWith("Cannot scroll sorted by image"));
+        assertThrows(APIException.class, () -> productService.scrollProductsByCategory(category.getCategoryId(), null, 1, "quantity", "asc"));
+    }
+
+    @Test
+    void testAddProduct_shouldRejectNameDifferingOnlyInCaseAndSpacing() {
+        Category category = categoryRepository.save(new Category(null, "Kitchen", new ArrayList<>()));
+        ProductDTO kettle = new ProductDTO();
+        kettle.setProductName("Electric Kettle");
+        kettle.setDescription("Boils water quickly");
+        kettle.setPrice(40.0);
+        productService.addProduct(category.getCategoryId(), kettle);
+
+        kettle.setProductName("  electric KETTLE ");
+        assertThrows(APIException.class, () -> productService.addProduct(category.getCategoryId(), kettle));
+
+        Product duplicate = new Product();
+        duplicate.setProductName("ELECTRIC kettle");
+        duplicate.setDescription("Inserted past the existence check");
+        duplicate.setCategory(category);
+        assertThrows(DataIntegrityViolationException.class, () -> productRepository.saveAndFlush(duplicate));
+    }
+
+    @Test
+    void testUpdateProduct_shouldIssuePinnedNumberOfStatements() {
+        Category category = categoryRepository.save(new Category(null, "Garden", new ArrayList<>()));
+        ProductDTO hose = new ProductDTO();
+        hose.setProductName("Garden Hose");
+        hose.setDescription("Twenty metres of hose");
+        hose.setPrice(30.0);
+        hose.setQuantity(10);
+        ProductDTO saved = productService.addProduct(category.getCategoryId(), hose);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatements.reset();
+
+        hose.setProductName("Garden Hose Deluxe");
+        hose.setPrice(45.0);
+        productService.updateProduct(saved.getProductId(), hose);
+        entityManager.flush();
+
+        SqlStatements.assertStatements(3, 0, 1, 0);
+    }
+
+    @Test
+    void backfillNormalizedNames_shouldKeepNamesUnique_whenLegacyNamesCollide() {
+        Category category = categoryRepository.save(new Category(null, "Kitchen", new ArrayList<>()));
+        Product laptop = productRepository.save(newProduct("Laptop", category));
+        Product duplicate = productRepository.save(newProduct("Notebook", category));
+        Product kettle = productRepository.save(newProduct("Kettle", category));
+        entityManager.flush();
+        // Rows written before normalized names existed, including a name that only differs in case
+        entityManager.createNativeQuery("UPDATE products SET normalized_name = NULL WHERE category_id = ?1")
+                .setParameter(1, category.getCategoryId()).executeUpdate();
+        entityManager.createNativeQuery("UPDATE products SET product_name = ' laptop', normalized_name = NULL WHERE product_id = ?1")
+                .setParameter(1, duplicate.getProductId()).executeUpdate();
+        entityManager.createNativeQuery("UPDATE products SET product_name = 'Kettle	' WHERE product_id = ?1")
+                .setParameter(1, kettle.getProductId()).executeUpdate();
+        entityManager.clear();
+
+        assertEquals(3, dataInitializer.backfillNormalizedNames());
+        entityManager.clear();
+
+        assertEquals("laptop", productRepository.findById(laptop.getProductId()).orElseThrow().getNormalizedName());
+        assertEquals("laptop#" + duplicate.getProductId(), productRepository.findById(duplicate.getProductId()).orElseThrow().getNormalizedName());
+        assertEquals("kettle", productRepository.findById(kettle.getProductId()).orElseThrow().getNormalizedName());
+        assertTrue(productRepository.existsByCategoryCategoryIdAndNormalizedName(category.getCategoryId(), "kettle"));
+        assertEquals(0, dataInitializer.backfillNormalizedNames());
+    }
+
+    @Test
+    void updateProduct_shouldKeepClashKey_whileTheBackfilledNameIsStillTaken() throws Exception {
+        Category category = categoryRepository.save(new Category(null, "Kitchen", new ArrayList<>()));
+        Product laptop = productRepository.save(newProduct("Laptop", category));
+        Product duplicate = productRepository.save(newProduct("Notebook", category));
+        entityManager.flush();
+        // A legacy clash as left behind by the backfill
+        entityManager.createNativeQuery("UPDATE products SET product_name = ' laptop', normalized_name = ?1 WHERE product_id = ?2")
+                .setParameter(1, ProductNames.clashKey("laptop", duplicate.getProductId()))
+                .setParameter(2, duplicate.getProductId()).executeUpdate();
+        entityManager.clear();
+        String clashKey = ProductNames.clashKey("laptop", duplicate.getProductId());
+
+        ProductDTO edit = new ProductDTO();
+        edit.setProductName("Laptop ");
+        edit.setDescription("Same name, new description");
+        edit.setQuantity(3);
+        edit.setPrice(90.0);
+        productService.updateProduct(duplicate.getProductId(), edit);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(clashKey, productRepository.findById(duplicate.getProductId()).orElseThrow().getNormalizedName());
+
+        when(fileService.uploadImage(anyString(), any())).thenReturn("laptop.png");
+        productService.updateProductImage(duplicate.getProductId(), new MockMultipartFile("image", "laptop.png", "image/png", new byte[]{1}));
+        entityManager.flush();
+        entityManager.clear();
+        Product updated = productRepository.findById(duplicate.getProductId()).orElseThrow();
+        assertEquals("laptop.png", updated.getImage());
+        assertEquals(clashKey, updated.getNormalizedName());
+
+        // Once the other product is gone the plain key is free again
+        productRepository.deleteById(laptop.getProductId());
+        entityManager.flush();
+        productService.updateProduct(duplicate.getProductId(), edit);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals("laptop", productRepository.findById(duplicate.getProductId()).orElseThrow().getNormalizedName());
+    }
+
+    private Product newProduct(String name, Category category) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("A product for testing");
+        product.setQuantity(10);
+        product.setPrice(100.0);
+        product.setSpecialPrice(100.0);
+        product.setCategory(category);
+        return product;
+    }
+
 }
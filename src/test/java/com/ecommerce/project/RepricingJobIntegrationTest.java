@@ -0,0 +1,175 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.RepricingJobDTO;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.service.RepricingJobService;
+import com.ecommerce.project.service.RepricingWorker;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class RepricingJobIntegrationTest {
+
+    @Autowired
+    private RepricingJobService repricingJobService;
+
+    @Autowired
+    private RepricingWorker repricingWorker;
+
+    @Autowired
+    private RepricingJobRepository repricingJobRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Product product;
+    private final List<Long> cartIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repricingWorker, "chunkSize", 2);
+
+        Category category = new Category();
+        category.setCategoryName("Audio");
+        category.setProducts(new ArrayList<>());
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setProductName("Headphones");
+        product.setDescription("Noise cancelling headphones");
+        product.setPrice(200.0);
+        product.setSpecialPrice(200.0);
+        product.setQuantity(100);
+        product.setCategory(category);
+        productRepository.save(product);
+
+        for (int i = 1; i <= 5; i++) {
+            User shopper = userRepository.save(new User("listener" + i, "listener" + i + "@example.com", "password"));
+            Cart cart = new Cart();
+            cart.setUser(shopper);
+            cart.getCartItems().add(new CartItem(null, cart, product, i, 0.0, 200.0));
+            cart.setTotalPrice(200.0 * i);
+            cartIds.add(cartRepository.save(cart).getCartId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(repricingWorker, "chunkSize", 1000);
+        ReflectionTestUtils.setField(repricingWorker, "enabled", false);
+    }
+
+    @Test
+    void runJob_shouldRepriceAllCartsInChunks_andReportProgress() {
+        RepricingJobDTO submitted = repricingJobService.submit(product.getProductId(), 150.0);
+        assertEquals(RepricingJobStatus.PENDING, submitted.getStatus());
+
+        assertTrue(repricingWorker.runJob(submitted.getJobId()));
+
+        RepricingJobDTO job = repricingJobService.getJob(submitted.getJobId());
+        assertEquals(RepricingJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getTotalCarts());
+        assertEquals(5, job.getRepricedCarts());
+        for (int i = 1; i <= 5; i++) {
+            Cart cart = cartRepository.findById(cartIds.get(i - 1)).orElseThrow();
+            assertEquals(150.0 * i, cart.getTotalPrice(), 0.001);
+            assertEquals(150.0, cartItemRepository.findCartItemByProductIdAndCartId(product.getProductId(), cart.getCartId()).getProductPrice());
+        }
+    }
+
+    @Test
+    void runJob_shouldBeNoOp_whenRunAgainForTheSamePrice() {
+        repricingWorker.runJob(repricingJobService.submit(product.getProductId(), 150.0).getJobId());
+
+        RepricingJobDTO rerun = repricingJobService.submit(product.getProductId(), 150.0);
+        assertTrue(repricingWorker.runJob(rerun.getJobId()));
+
+        RepricingJobDTO job = repricingJobService.getJob(rerun.getJobId());
+        assertEquals(RepricingJobStatus.COMPLETED, job.getStatus());
+        assertEquals(0, job.getRepricedCarts());
+        assertEquals(150.0 * 3, cartRepository.findById(cartIds.get(2)).orElseThrow().getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void submit_shouldSupersedeEarlierJobsOfTheProduct() {
+        RepricingJobDTO first = repricingJobService.submit(product.getProductId(), 150.0);
+        RepricingJobDTO second = repricingJobService.submit(product.getProductId(), 120.0);
+
+        assertFalse(repricingWorker.runJob(first.getJobId()));
+        assertTrue(repricingWorker.runJob(second.getJobId()));
+
+        List<RepricingJobDTO> jobs = repricingJobService.getJobsForProduct(product.getProductId());
+        assertEquals(List.of(second.getJobId(), first.getJobId()), jobs.stream().map(RepricingJobDTO::getJobId).toList());
+        assertEquals(RepricingJobStatus.COMPLETED, jobs.get(0).getStatus());
+        assertEquals(RepricingJobStatus.SUPERSEDED, jobs.get(1).getStatus());
+        assertEquals(120.0 * 5, cartRepository.findById(cartIds.get(4)).orElseThrow().getTotalPrice(), 0.001);
+    }
+
+    @Test
+    void retryJob_shouldQueueFailedJobAgain_andRejectOthers() {
+        RepricingJobDTO submitted = repricingJobService.submit(product.getProductId(), 150.0);
+        assertThrows(APIException.class, () -> repricingJobService.retryJob(submitted.getJobId()));
+
+        RepricingJob job = repricingJobRepository.findById(submitted.getJobId()).orElseThrow();
+        job.setStatus(RepricingJobStatus.FAILED);
+        job.setErrorMessage("Connection reset");
+        repricingJobRepository.saveAndFlush(job);
+
+        RepricingJobDTO retried = repricingJobService.retryJob(submitted.getJobId());
+        assertEquals(RepricingJobStatus.PENDING, retried.getStatus());
+        assertNull(retried.getErrorMessage());
+        assertTrue(repricingWorker.runJob(submitted.getJobId()));
+        assertEquals(RepricingJobStatus.COMPLETED, repricingJobService.getJob(submitted.getJobId()).getStatus());
+    }
+
+    @Test
+    void reclaimStaleJobs_shouldOnlyQueueJobsWithoutRecentHeartbeat() {
+        RepricingJob abandoned = runningJob(LocalDateTime.now().minusHours(1));
+        RepricingJob alive = runningJob(LocalDateTime.now());
+        ReflectionTestUtils.setField(repricingWorker, "enabled", true);
+
+        repricingWorker.reclaimStaleJobs();
+
+        assertEquals(RepricingJobStatus.PENDING, repricingJobService.getJob(abandoned.getJobId()).getStatus());
+        assertEquals(RepricingJobStatus.RUNNING, repricingJobService.getJob(alive.getJobId()).getStatus());
+        assertTrue(repricingWorker.runJob(abandoned.getJobId()));
+        assertEquals(RepricingJobStatus.COMPLETED, repricingJobService.getJob(abandoned.getJobId()).getStatus());
+    }
+
+    private RepricingJob runningJob(LocalDateTime updatedAt) {
+        RepricingJob job = new RepricingJob(product.getProductId(), 150.0);
+        job.setStatus(RepricingJobStatus.RUNNING);
+        job.setTotalCarts(5);
+        job.setUpdatedAt(updatedAt);
+        return repricingJobRepository.saveAndFlush(job);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.model.AppRole;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.RoleRepository;
+import com.ecommerce.project.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        category = categoryRepository.save(new Category(null, "Cached Category", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteById(category.getCategoryId());
+    }
+
+    @Test
+    void findById_shouldBeServedFromCache_withoutLoadingTheRow() {
+        categoryRepository.findById(category.getCategoryId());
+        Statistics statistics = sessionFactory.getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long loads = statistics.getEntityLoadCount();
+
+        Category cached = categoryRepository.findById(category.getCategoryId()).orElseThrow();
+
+        assertEquals("Cached Category", cached.getCategoryName());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(loads, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void updateCategory_shouldServeTheNewName_afterEviction() {
+        categoryRepository.findById(category.getCategoryId());
+        assertTrue(sessionFactory.getCache().containsEntity(Category.class, category.getCategoryId()));
+
+        CategoryDTO rename = new CategoryDTO();
+        rename.setCategoryName("Renamed Category");
+        categoryService.updateCategory(rename, category.getCategoryId());
+
+        assertFalse(sessionFactory.getCache().containsEntity(Category.class, category.getCategoryId()));
+        assertEquals("Renamed Category", categoryRepository.findById(category.getCategoryId()).orElseThrow().getCategoryName());
+        assertNotNull(categoryRepository.findByCategoryName("Renamed Category"));
+        assertNull(categoryRepository.findByCategoryName("Cached Category"));
+    }
+
+    @Test
+    void findByRoleName_shouldBeServedFromQueryCache() {
+        roleRepository.findByRoleName(AppRole.ROLE_USER);
+        Statistics statistics = sessionFactory.getStatistics();
+        long queryHits = statistics.getQueryCacheHitCount();
+        long queries = statistics.getQueryExecutionCount();
+
+        assertTrue(roleRepository.findByRoleName(AppRole.ROLE_USER).isPresent());
+
+        assertEquals(queryHits + 1, statistics.getQueryCacheHitCount());
+        assertEquals(queries, statistics.getQueryExecutionCount());
+    }
+
+}
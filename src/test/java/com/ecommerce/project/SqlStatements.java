@@ -0,0 +1,38 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.config.StatementCountingConfig;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement counts of the current thread, recorded by the counting DataSource of the test
+ * profile. Flush and clear the persistence context before {@link #reset()} so the measured
+ * call starts cold, and flush again before asserting so pending writes are included.
+ * A JDBC batch counts as one statement.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static QueryCount count() {
+        QueryCount count = QueryCountHolder.get(StatementCountingConfig.DATA_SOURCE_NAME);
+        return count == null ? new QueryCount() : count;
+    }
+
+    public static void assertStatements(long selects, long inserts, long updates, long deletes) {
+        QueryCount count = count();
+        assertEquals(List.of(selects, inserts, updates, deletes),
+                List.of(count.getSelect(), count.getInsert(), count.getUpdate(), count.getDelete()),
+                "SQL statements [select, insert, update, delete]");
+    }
+
+}
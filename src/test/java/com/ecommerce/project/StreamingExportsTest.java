@@ -0,0 +1,127 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.config.StreamingExports;
+import com.ecommerce.project.config.StreamingExports.Audience;
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingExportsTest {
+
+    private static final StreamingResponseBody EMPTY = outputStream -> {
+    };
+
+    @Test
+    void stream_shouldWriteFileAndReleasePermit_whenExportCompletes() throws Exception {
+        StreamingExports streamingExports = new StreamingExports(1, 1, 1, 30, 30);
+        MockHttpServletRequest request = client("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        WebAsyncTask<Void> task = streamingExports.stream(Audience.PUBLIC, request, response, MediaType.APPLICATION_NDJSON, "products.ndjson",
+                outputStream -> outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(0, streamingExports.availablePermits(Audience.PUBLIC));
+        assertEquals(30 * 60 * 1000L, task.getTimeout());
+
+        WebAsyncManager asyncManager = start(task, request, response);
+        awaitResult(asyncManager);
+        request.getAsyncContext().complete();
+
+        assertNull(asyncManager.getConcurrentResult());
+        assertEquals("{}\n", response.getContentAsString());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        assertEquals("attachment; filename=\"products.ndjson\"", response.getHeader("Content-Disposition"));
+        assertEquals(1, streamingExports.availablePermits(Audience.PUBLIC));
+        // The client's slot is free again as well
+        streamingExports.stream(Audience.PUBLIC, client("10.0.0.1"), new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "products.ndjson", EMPTY);
+    }
+
+    @Test
+    void stream_shouldReject_whenAllPermitsOfTheAudienceAreHeld() {
+        StreamingExports streamingExports = new StreamingExports(1, 1, 1, 30, 30);
+        streamingExports.stream(Audience.PUBLIC, client("10.0.0.1"), new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "products.ndjson", EMPTY);
+
+        assertThrows(ServiceUnavailableException.class, () -> streamingExports.stream(Audience.PUBLIC, client("10.0.0.2"),
+                new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "products.ndjson", EMPTY));
+        // Public exports do not take the slots of admin exports
+        streamingExports.stream(Audience.ADMIN, admin("admin"), new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "carts.ndjson", EMPTY);
+        assertEquals(0, streamingExports.availablePermits(Audience.ADMIN));
+    }
+
+    @Test
+    void stream_shouldReject_whenClientAlreadyRunsAnExport() {
+        StreamingExports streamingExports = new StreamingExports(5, 5, 1, 30, 30);
+        streamingExports.stream(Audience.PUBLIC, client("10.0.0.1"), new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "products.ndjson", EMPTY);
+
+        assertThrows(ServiceUnavailableException.class, () -> streamingExports.stream(Audience.PUBLIC, client("10.0.0.1"),
+                new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "products.ndjson", EMPTY));
+        assertEquals(4, streamingExports.availablePermits(Audience.PUBLIC));
+        streamingExports.stream(Audience.PUBLIC, client("10.0.0.2"), new MockHttpServletResponse(), MediaType.APPLICATION_NDJSON, "products.ndjson", EMPTY);
+    }
+
+    @Test
+    void abortIdleExports_shouldEndExportThatStoppedWriting() throws Exception {
+        StreamingExports streamingExports = new StreamingExports(1, 1, 1, 30, 1);
+        MockHttpServletRequest request = client("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncTask<Void> task = streamingExports.stream(Audience.PUBLIC, request, response, MediaType.TEXT_PLAIN, "products.csv", outputStream -> {
+            outputStream.write("productId\n".getBytes(StandardCharsets.UTF_8));
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Export interrupted");
+            }
+            outputStream.write("1\n".getBytes(StandardCharsets.UTF_8));
+        });
+
+        WebAsyncManager asyncManager = start(task, request, response);
+        Thread.sleep(1_200);
+        streamingExports.abortIdleExports();
+        awaitResult(asyncManager);
+        request.getAsyncContext().complete();
+
+        assertInstanceOf(InterruptedIOException.class, asyncManager.getConcurrentResult());
+        assertEquals("productId\n", response.getContentAsString());
+        assertEquals(1, streamingExports.availablePermits(Audience.PUBLIC));
+    }
+
+    private static WebAsyncManager start(WebAsyncTask<Void> task, MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor());
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.startCallableProcessing(task);
+        return asyncManager;
+    }
+
+    private static void awaitResult(WebAsyncManager asyncManager) throws InterruptedException {
+        for (int i = 0; i < 100 && !asyncManager.hasConcurrentResult(); i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    private static MockHttpServletRequest client(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private static MockHttpServletRequest admin(String userName) {
+        MockHttpServletRequest request = client("10.0.0.1");
+        request.setUserPrincipal(() -> userName);
+        return request;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.model.AppRole;
+import com.ecommerce.project.model.Role;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.RoleRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsImplementation;
+import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class UserDetailsServiceIntegrationTest {
+
+    @Autowired
+    private UserDetailsServiceImplementation userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private Role userRole;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new Role(AppRole.ROLE_USER)));
+
+        User userToSave = new User("cacheduser", "cacheduser@example.com", "password");
+        userToSave.setRoles(new HashSet<>(Set.of(userRole)));
+        user = userRepository.saveAndFlush(userToSave);
+    }
+
+    @Test
+    void loadUserByUsername_shouldServeRepeatedLookupsFromCache() {
+        long hits = userDetailsService.stats().getHitCount();
+
+        UserDetailsImplementation first = (UserDetailsImplementation) userDetailsService.loadUserByUsername("cacheduser");
+        UserDetailsImplementation second = (UserDetailsImplementation) userDetailsService.loadUserByUsername("cacheduser");
+
+        assertEquals(hits + 1, userDetailsService.stats().getHitCount());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(user.getUserId(), second.getId());
+    }
+
+    @Test
+    void loadUserByUsername_shouldReflectUserUpdate_afterEvict() {
+        userDetailsService.loadUserByUsername("cacheduser");
+
+        user.setEmail("changed@example.com");
+        userRepository.saveAndFlush(user);
+        userDetailsService.evict("cacheduser");
+
+        UserDetailsImplementation reloaded = (UserDetailsImplementation) userDetailsService.loadUserByUsername("cacheduser");
+        assertEquals("changed@example.com", reloaded.getEmail());
+    }
+
+    @Test
+    void loadUserByUsername_shouldReflectRoleChange_afterEvict() {
+        Role adminRole = roleRepository.findByRoleName(AppRole.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(new Role(AppRole.ROLE_ADMIN)));
+        assertEquals(1, userDetailsService.loadUserByUsername("cacheduser").getAuthorities().size());
+
+        user.setRoles(new HashSet<>(Set.of(userRole, adminRole)));
+        userRepository.saveAndFlush(user);
+        userDetailsService.evict("cacheduser");
+
+        assertEquals(2, userDetailsService.loadUserByUsername("cacheduser").getAuthorities().size());
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotCacheMissingUser() {
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("nobody"));
+
+        User created = new User("nobody", "nobody@example.com", "password");
+        created.setRoles(new HashSet<>(Set.of(userRole)));
+        userRepository.saveAndFlush(created);
+
+        assertEquals("nobody", userDetailsService.loadUserByUsername("nobody").getUsername());
+    }
+
+}
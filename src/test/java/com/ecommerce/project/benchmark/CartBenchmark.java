@@ -0,0 +1,57 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.service.CartService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a product to the shopper's cart and changes the quantity of a product already in it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    private CartService cartService;
+    private SeededApplication application;
+    private Long cartId;
+    private Long addedProductId;
+    private int nextProduct = 1;
+    private boolean increase = true;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        this.application = application;
+        this.cartService = application.bean(CartService.class);
+        cartId = application.inRequest(() -> cartService.addProductToCart(application.productId(0), 1)).getCartId();
+    }
+
+    @TearDown(Level.Invocation)
+    public void removeAddedProduct() {
+        if (addedProductId != null) {
+            Long productId = addedProductId;
+            application.inRequest(() -> cartService.deleteProductFromCart(cartId, productId));
+            addedProductId = null;
+        }
+    }
+
+    @Benchmark
+    public CartDTO addProductToCart() {
+        Long productId = application.productId(nextProduct++ % (application.seedProducts - 1) + 1);
+        addedProductId = productId;
+        return application.inRequest(() -> cartService.addProductToCart(productId, 1));
+    }
+
+    @Benchmark
+    public CartDTO updateProductQuantityInCart() {
+        int change = increase ? 1 : -1;
+        increase = !increase;
+        return application.inRequest(() -> cartService.updateProductQuantityInCart(application.productId(0), change));
+    }
+
+}
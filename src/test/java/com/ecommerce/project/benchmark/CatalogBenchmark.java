@@ -0,0 +1,51 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search and product listing pages serialized to JSON the way the controllers return them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    @Param({"product 1"})
+    public String keyword;
+
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+    private int pageCount;
+    private int nextPage;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        this.productService = application.bean(ProductService.class);
+        this.objectMapper = application.bean(ObjectMapper.class);
+        this.pageCount = Math.max(1, application.seedProducts / pageSize);
+    }
+
+    @Benchmark
+    public ProductResponse searchProductByKeyword() {
+        return productService.searchProductByKeyword(keyword, 0, pageSize, "price", "asc");
+    }
+
+    @Benchmark
+    public byte[] productListingJson() throws JsonProcessingException {
+        ProductResponse response = productService.getAllProducts(nextPage++ % pageCount, pageSize, "price", "asc");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.security.jwt.JwtUtils;
+import com.ecommerce.project.security.services.UserDetailsImplementation;
+import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request work of the JWT filter: validating the token and reading its subject, for a
+ * token seen before and for a token verified from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        this.jwtUtils = application.bean(JwtUtils.class);
+        UserDetailsImplementation userDetails = (UserDetailsImplementation) application
+                .bean(UserDetailsServiceImplementation.class)
+                .loadUserByUsername(SeededApplication.USERNAME);
+        this.token = jwtUtils.generateTokenFromUsername(userDetails);
+    }
+
+    @Benchmark
+    public String verifyRepeatedToken() {
+        return jwtUtils.getUsernameFromVerifiedToken(token);
+    }
+
+    @Benchmark
+    public String verifyUncachedToken() {
+        return jwtUtils.getUsernameFromJWTToken(token);
+    }
+
+}
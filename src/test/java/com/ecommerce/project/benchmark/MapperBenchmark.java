@@ -0,0 +1,101 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.util.PayloadMappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective ModelMapper matching with the precompiled payload mappers on a listing
+ * page of products and on an order with its items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"50"})
+    public int pageSize;
+
+    private ModelMapper reflective;
+    private ModelMapper precompiled;
+    private List<Product> products;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        reflective = new ModelMapper();
+        precompiled = new ModelMapper();
+        PayloadMappers.register(precompiled);
+
+        products = new ArrayList<>();
+        order = new Order();
+        order.setOrderId(1L);
+        order.setEmail("user@example.com");
+        order.setOrderDate(LocalDate.now());
+        order.setOrderStatus("Accepted");
+        order.setPayment(new Payment());
+        order.setAddress(new Address());
+
+        for (long i = 1; i <= pageSize; i++) {
+            Product product = new Product();
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setDescription("Description of product " + i);
+            product.setImage("default.png");
+            product.setQuantity(10);
+            product.setPrice(100.0);
+            product.setDiscount(10.0);
+            product.setSpecialPrice(90.0);
+            products.add(product);
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrderItemId(i);
+            orderItem.setOrder(order);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(1);
+            orderItem.setDiscount(10.0);
+            orderItem.setOrderedProductPrice(90.0);
+            order.getOrderItems().add(orderItem);
+        }
+        order.setTotalAmount(90.0 * pageSize);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productPageReflective() {
+        return products.stream().map(product -> reflective.map(product, ProductDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<ProductDTO> productPagePrecompiled() {
+        return products.stream().map(product -> precompiled.map(product, ProductDTO.class)).toList();
+    }
+
+    @Benchmark
+    public OrderDTO orderReflective() {
+        return reflective.map(order, OrderDTO.class);
+    }
+
+    @Benchmark
+    public OrderDTO orderPrecompiled() {
+        return precompiled.map(order, OrderDTO.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.service.CartService;
+import com.ecommerce.project.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places an order for a cart of {@code cartSize} products. The cart is refilled before every
+ * invocation, outside of the measured call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({"5"})
+    public int cartSize;
+
+    private CartService cartService;
+    private OrderService orderService;
+    private SeededApplication application;
+    private int nextProduct;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        this.application = application;
+        this.cartService = application.bean(CartService.class);
+        this.orderService = application.bean(OrderService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillCart() {
+        for (int i = 0; i < cartSize; i++) {
+            Long productId = application.productId(nextProduct++);
+            application.inRequest(() -> cartService.addProductToCart(productId, 1));
+        }
+    }
+
+    @Benchmark
+    public OrderDTO placeOrder() {
+        return application.inRequest(() -> orderService.placeOrder(SeededApplication.EMAIL, application.addressId(),
+                "card", "pg-benchmark", "succeeded", "Payment successful", "benchmark"));
+    }
+
+}
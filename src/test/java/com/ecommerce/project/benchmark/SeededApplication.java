@@ -0,0 +1,148 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.service.ProductSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Boots the application on a private H2 database and seeds a catalog of {@code seedProducts}
+ * products plus one signed-in shopper with an address. Shared by all benchmarks of a fork.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    static final String USERNAME = "benchmark";
+    static final String EMAIL = "benchmark@example.com";
+
+    private static final int SEED_BATCH_SIZE = 500;
+
+    @Param({"1000"})
+    public int seedProducts;
+
+    private ConfigurableApplicationContext context;
+    private final List<Long> productIds = new ArrayList<>();
+    private Long addressId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = application().run();
+
+        new TransactionTemplate(bean(PlatformTransactionManager.class)).executeWithoutResult(status -> seed());
+        bean(ProductSearchIndex.class).rebuild();
+
+        signIn();
+    }
+
+    /**
+     * The application to boot; benchmarks that go through HTTP override this to start the web server.
+     */
+    protected SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(SbEcomApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN");
+    }
+
+    /**
+     * Makes the seeded shopper the current user of every benchmark thread for direct service calls.
+     */
+    protected void signIn() {
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USERNAME, null, List.of()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Runs a service call with an EntityManager bound for its whole duration, as open-in-view
+     * does for HTTP requests, so lazy associations behave as they do behind the controllers.
+     */
+    public <T> T inRequest(Supplier<T> call) {
+        EntityManagerFactory entityManagerFactory = bean(EntityManagerFactory.class);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return call.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    public Long productId(int index) {
+        return productIds.get(Math.floorMod(index, productIds.size()));
+    }
+
+    public Long addressId() {
+        return addressId;
+    }
+
+    private void seed() {
+        Category category = bean(CategoryRepository.class).save(new Category(null, "Benchmark", null));
+        ProductRepository productRepository = bean(ProductRepository.class);
+        List<Product> batch = new ArrayList<>();
+        for (int i = 1; i <= seedProducts; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setDescription("Seeded product number " + i + " for benchmarks");
+            product.setImage("default.png");
+            product.setQuantity(Integer.MAX_VALUE / 2);
+            product.setPrice(100.0 + i % 100);
+            product.setDiscount(10.0);
+            product.setSpecialPrice((100.0 + i % 100) * 0.9);
+            product.setCategory(category);
+            batch.add(product);
+            if (batch.size() == SEED_BATCH_SIZE || i == seedProducts) {
+                productRepository.saveAll(batch).forEach(saved -> productIds.add(saved.getProductId()));
+                batch.clear();
+            }
+        }
+
+        Role userRole = bean(RoleRepository.class).findByRoleName(AppRole.ROLE_USER).orElseThrow();
+        User user = new User(USERNAME, EMAIL, "password");
+        user.setRoles(Set.of(userRole));
+        user = bean(UserRepository.class).save(user);
+
+        Address address = new Address();
+        address.setStreet("Benchmark Street 1");
+        address.setBuildingName("Benchmark House");
+        address.setCity("Budapest");
+        address.setState("Pest");
+        address.setCountry("Hungary");
+        address.setZipcode("1011");
+        address.setUser(user);
+        addressId = bean(AddressRepository.class).save(address).getAddressId();
+    }
+
+}
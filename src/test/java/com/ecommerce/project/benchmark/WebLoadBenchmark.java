@@ -0,0 +1,98 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.security.jwt.JwtUtils;
+import com.ecommerce.project.security.services.UserDetailsImplementation;
+import com.ecommerce.project.security.services.UserDetailsServiceImplementation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test over HTTP: many concurrent clients calling database-backed endpoints, once with
+ * requests served by the Tomcat platform-thread pool and once on virtual threads behind the
+ * connection-pool-aware concurrency limit. Throughput mode gives requests per second, sample
+ * mode the latency percentiles (p0.99 in the JMH report).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class WebLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WebApplication extends SeededApplication {
+
+        @Param({"false", "true"})
+        public boolean virtualThreads;
+
+        @Param({"200"})
+        public int tomcatMaxThreads;
+
+        private HttpClient client;
+        private String baseUrl;
+        private String jwtCookie;
+
+        @Override
+        protected SpringApplicationBuilder application() {
+            return super.application()
+                    .web(WebApplicationType.SERVLET)
+                    .properties(
+                            "server.port=0",
+                            "spring.threads.virtual.enabled=" + virtualThreads,
+                            "server.tomcat.threads.max=" + tomcatMaxThreads);
+        }
+
+        @Override
+        protected void signIn() {
+            baseUrl = "http://localhost:" + bean(Environment.class).getProperty("local.server.port");
+            UserDetailsImplementation userDetails = (UserDetailsImplementation) bean(UserDetailsServiceImplementation.class)
+                    .loadUserByUsername(USERNAME);
+            jwtCookie = bean(Environment.class).getProperty("spring.ecom.jwtCookieName") + "="
+                    + bean(JwtUtils.class).generateTokenFromUsername(userDetails);
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void closeClient() {
+            client.close();
+        }
+
+        int get(String path, boolean authenticated) throws IOException, InterruptedException {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+            if (authenticated) {
+                request.header("Cookie", jwtCookie);
+            }
+            int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("GET " + path + " returned " + status);
+            }
+            return status;
+        }
+
+    }
+
+    @Benchmark
+    public int listCategories(WebApplication application) throws Exception {
+        return application.get("/api/public/categories", false);
+    }
+
+    @Benchmark
+    public int listUserAddresses(WebApplication application) throws Exception {
+        return application.get("/api/users/addresses", true);
+    }
+
+}